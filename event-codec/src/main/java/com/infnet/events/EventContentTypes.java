@@ -0,0 +1,13 @@
+package com.infnet.events;
+
+/**
+ * Content types usados no cabeçalho das mensagens para que JSON e binário convivam na mesma fila.
+ */
+public final class EventContentTypes {
+    public static final String JSON = "application/json";
+
+    public static final String TASK_EVENT_BINARY = "application/x-task-event";
+
+    private EventContentTypes() {
+    }
+}
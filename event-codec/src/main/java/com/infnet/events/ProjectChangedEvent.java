@@ -0,0 +1,10 @@
+package com.infnet.events;
+
+import java.time.LocalDateTime;
+
+/**
+ * Evento publicado pelo project-service quando um projeto é renomeado, para que os
+ * serviços atualizem as cópias do nome com um único UPDATE por projeto.
+ */
+public record ProjectChangedEvent(Long projectId, String name, LocalDateTime updatedAt) {
+}
@@ -0,0 +1,21 @@
+package com.infnet.events;
+
+import java.time.LocalDateTime;
+
+/**
+ * Evento publicado pelo task-service quando uma tarefa é criada.
+ */
+public record TaskEvent(
+        Long id,
+        String name,
+        String description,
+        String observation,
+        Float hourlyRate,
+        Float budget,
+        Integer estimatedHours,
+        Boolean active,
+        Long projectId,
+        String projectName,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt) {
+}
@@ -0,0 +1,258 @@
+package com.infnet.events;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+
+/**
+ * Codec binário versionado de {@link TaskEvent}.
+ *
+ * <p>Formato v1: um byte de versão, um inteiro variável com o mapa de campos presentes
+ * e, na ordem do record, apenas os campos não nulos. Inteiros usam varint com zigzag,
+ * floats usam 4 bytes, textos usam tamanho em varint seguido de UTF-8 e datas usam
+ * segundos e nanos em UTC. O buffer de escrita é reaproveitado por thread.
+ */
+public final class TaskEventCodec {
+    public static final byte VERSION_1 = 1;
+
+    private static final int ID = 1;
+    private static final int NAME = 1 << 1;
+    private static final int DESCRIPTION = 1 << 2;
+    private static final int OBSERVATION = 1 << 3;
+    private static final int HOURLY_RATE = 1 << 4;
+    private static final int BUDGET = 1 << 5;
+    private static final int ESTIMATED_HOURS = 1 << 6;
+    private static final int ACTIVE = 1 << 7;
+    private static final int ACTIVE_VALUE = 1 << 8;
+    private static final int PROJECT_ID = 1 << 9;
+    private static final int PROJECT_NAME = 1 << 10;
+    private static final int CREATED_AT = 1 << 11;
+    private static final int UPDATED_AT = 1 << 12;
+
+    private static final ThreadLocal<Writer> WRITERS = ThreadLocal.withInitial(Writer::new);
+
+    private TaskEventCodec() {
+    }
+
+    public static byte[] encode(TaskEvent event) {
+        int fields = (event.id() != null ? ID : 0)
+                | (event.name() != null ? NAME : 0)
+                | (event.description() != null ? DESCRIPTION : 0)
+                | (event.observation() != null ? OBSERVATION : 0)
+                | (event.hourlyRate() != null ? HOURLY_RATE : 0)
+                | (event.budget() != null ? BUDGET : 0)
+                | (event.estimatedHours() != null ? ESTIMATED_HOURS : 0)
+                | (event.active() != null ? ACTIVE : 0)
+                | (Boolean.TRUE.equals(event.active()) ? ACTIVE_VALUE : 0)
+                | (event.projectId() != null ? PROJECT_ID : 0)
+                | (event.projectName() != null ? PROJECT_NAME : 0)
+                | (event.createdAt() != null ? CREATED_AT : 0)
+                | (event.updatedAt() != null ? UPDATED_AT : 0);
+
+        Writer writer = WRITERS.get();
+        writer.reset();
+        writer.writeByte(VERSION_1);
+        writer.writeVarLong(fields);
+
+        if (event.id() != null) writer.writeVarLong(zigzag(event.id()));
+        if (event.name() != null) writer.writeString(event.name());
+        if (event.description() != null) writer.writeString(event.description());
+        if (event.observation() != null) writer.writeString(event.observation());
+        if (event.hourlyRate() != null) writer.writeFloat(event.hourlyRate());
+        if (event.budget() != null) writer.writeFloat(event.budget());
+        if (event.estimatedHours() != null) writer.writeVarLong(zigzag(event.estimatedHours()));
+        if (event.projectId() != null) writer.writeVarLong(zigzag(event.projectId()));
+        if (event.projectName() != null) writer.writeString(event.projectName());
+        if (event.createdAt() != null) writer.writeDateTime(event.createdAt());
+        if (event.updatedAt() != null) writer.writeDateTime(event.updatedAt());
+
+        return writer.toByteArray();
+    }
+
+    public static TaskEvent decode(byte[] bytes) {
+        Reader reader = new Reader(bytes);
+
+        byte version = reader.readByte();
+        if (version != VERSION_1) {
+            throw new IllegalArgumentException("Versão de evento de tarefa não suportada: " + version);
+        }
+
+        int fields = (int) reader.readVarLong();
+
+        return new TaskEvent(
+                (fields & ID) != 0 ? unzigzag(reader.readVarLong()) : null,
+                (fields & NAME) != 0 ? reader.readString() : null,
+                (fields & DESCRIPTION) != 0 ? reader.readString() : null,
+                (fields & OBSERVATION) != 0 ? reader.readString() : null,
+                (fields & HOURLY_RATE) != 0 ? reader.readFloat() : null,
+                (fields & BUDGET) != 0 ? reader.readFloat() : null,
+                (fields & ESTIMATED_HOURS) != 0 ? (int) unzigzag(reader.readVarLong()) : null,
+                (fields & ACTIVE) != 0 ? (fields & ACTIVE_VALUE) != 0 : null,
+                (fields & PROJECT_ID) != 0 ? unzigzag(reader.readVarLong()) : null,
+                (fields & PROJECT_NAME) != 0 ? reader.readString() : null,
+                (fields & CREATED_AT) != 0 ? reader.readDateTime() : null,
+                (fields & UPDATED_AT) != 0 ? reader.readDateTime() : null);
+    }
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static final class Writer {
+        private byte[] buffer = new byte[256];
+        private int position;
+
+        void reset() {
+            position = 0;
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(buffer, position);
+        }
+
+        void writeByte(int value) {
+            ensure(1);
+            buffer[position++] = (byte) value;
+        }
+
+        void writeVarLong(long value) {
+            ensure(10);
+            while ((value & ~0x7FL) != 0) {
+                buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buffer[position++] = (byte) value;
+        }
+
+        void writeFloat(float value) {
+            ensure(4);
+            int bits = Float.floatToIntBits(value);
+            buffer[position++] = (byte) (bits >>> 24);
+            buffer[position++] = (byte) (bits >>> 16);
+            buffer[position++] = (byte) (bits >>> 8);
+            buffer[position++] = (byte) bits;
+        }
+
+        void writeDateTime(LocalDateTime value) {
+            writeVarLong(zigzag(value.toEpochSecond(ZoneOffset.UTC)));
+            writeVarLong(value.getNano());
+        }
+
+        void writeString(String value) {
+            int length = value.length();
+            int utf8Length = 0;
+            for (int i = 0; i < length; i++) {
+                char c = value.charAt(i);
+                if (c < 0x80) {
+                    utf8Length++;
+                } else if (c < 0x800) {
+                    utf8Length += 2;
+                } else if (Character.isSurrogate(c)) {
+                    if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+                        utf8Length += 4;
+                        i++;
+                    } else {
+                        utf8Length++;
+                    }
+                } else {
+                    utf8Length += 3;
+                }
+            }
+
+            writeVarLong(utf8Length);
+            ensure(utf8Length);
+
+            for (int i = 0; i < length; i++) {
+                char c = value.charAt(i);
+                if (c < 0x80) {
+                    buffer[position++] = (byte) c;
+                } else if (c < 0x800) {
+                    buffer[position++] = (byte) (0xC0 | (c >> 6));
+                    buffer[position++] = (byte) (0x80 | (c & 0x3F));
+                } else if (Character.isSurrogate(c)) {
+                    if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+                        int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                        buffer[position++] = (byte) (0xF0 | (codePoint >> 18));
+                        buffer[position++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                        buffer[position++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                        buffer[position++] = (byte) (0x80 | (codePoint & 0x3F));
+                    } else {
+                        /* Surrogate isolado vira '?', como em String.getBytes(UTF_8) */
+                        buffer[position++] = (byte) '?';
+                    }
+                } else {
+                    buffer[position++] = (byte) (0xE0 | (c >> 12));
+                    buffer[position++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                    buffer[position++] = (byte) (0x80 | (c & 0x3F));
+                }
+            }
+        }
+
+        private void ensure(int bytes) {
+            if (position + bytes > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, position + bytes));
+            }
+        }
+    }
+
+    private static final class Reader {
+        private final byte[] buffer;
+        private int position;
+
+        Reader(byte[] buffer) {
+            this.buffer = buffer;
+        }
+
+        byte readByte() {
+            check(1);
+            return buffer[position++];
+        }
+
+        long readVarLong() {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                byte b = readByte();
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IllegalArgumentException("Evento de tarefa corrompido: varint inválido");
+        }
+
+        float readFloat() {
+            check(4);
+            int bits = ((buffer[position] & 0xFF) << 24)
+                    | ((buffer[position + 1] & 0xFF) << 16)
+                    | ((buffer[position + 2] & 0xFF) << 8)
+                    | (buffer[position + 3] & 0xFF);
+            position += 4;
+            return Float.intBitsToFloat(bits);
+        }
+
+        LocalDateTime readDateTime() {
+            long seconds = unzigzag(readVarLong());
+            int nanos = (int) readVarLong();
+            return LocalDateTime.ofEpochSecond(seconds, nanos, ZoneOffset.UTC);
+        }
+
+        String readString() {
+            int length = (int) readVarLong();
+            check(length);
+            String value = new String(buffer, position, length, StandardCharsets.UTF_8);
+            position += length;
+            return value;
+        }
+
+        private void check(int bytes) {
+            if (bytes < 0 || position + bytes > buffer.length) {
+                throw new IllegalArgumentException("Evento de tarefa corrompido: fim inesperado dos dados");
+            }
+        }
+    }
+}
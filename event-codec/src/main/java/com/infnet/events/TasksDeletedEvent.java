@@ -0,0 +1,10 @@
+package com.infnet.events;
+
+import java.util.List;
+
+/**
+ * Evento publicado pelo task-service a cada lote de tarefas excluídas, para que o
+ * project-service remova suas cópias sem uma mensagem por tarefa.
+ */
+public record TasksDeletedEvent(List<Long> taskIds) {
+}
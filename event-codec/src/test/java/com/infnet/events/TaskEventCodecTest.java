@@ -0,0 +1,51 @@
+package com.infnet.events;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TaskEventCodecTest {
+
+    @Test
+    @DisplayName("Deve codificar e decodificar um evento completo")
+    void roundTripTest() {
+        TaskEvent event = new TaskEvent(42L, "Tarefa Teste", "Descrição com acentuação 🚀", "Obs",
+                20.5f, 2000.0f, 100, true, 7L, "Projeto Teste",
+                LocalDateTime.of(2024, 5, 1, 10, 30, 15, 123_000_000),
+                LocalDateTime.of(2024, 5, 2, 8, 0));
+
+        byte[] bytes = TaskEventCodec.encode(event);
+
+        assertThat(TaskEventCodec.decode(bytes)).isEqualTo(event);
+    }
+
+    @Test
+    @DisplayName("Deve preservar campos nulos e gerar payload menor que o JSON")
+    void nullFieldsTest() {
+        TaskEvent event = new TaskEvent(1L, "Tarefa", "Descrição", null,
+                10.0f, 100.0f, 5, false, 3L, null, null, null);
+
+        byte[] bytes = TaskEventCodec.encode(event);
+
+        assertThat(TaskEventCodec.decode(bytes)).isEqualTo(event);
+        assertThat(bytes.length).isLessThan("{\"id\":1,\"name\":\"Tarefa\",\"description\":\"Descrição\"}"
+                .getBytes(StandardCharsets.UTF_8).length);
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar versões desconhecidas")
+    void unknownVersionTest() {
+        byte[] bytes = TaskEventCodec.encode(new TaskEvent(1L, "Tarefa", null, null,
+                null, null, null, null, null, null, null, null));
+        bytes[0] = 99;
+
+        assertThatThrownBy(() -> TaskEventCodec.decode(bytes))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("99");
+    }
+}
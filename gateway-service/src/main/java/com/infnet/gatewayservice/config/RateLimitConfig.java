@@ -0,0 +1,39 @@
+package com.infnet.gatewayservice.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.ratelimit.KeyResolver;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.util.Set;
+
+@Configuration
+public class RateLimitConfig {
+    public static final String CLIENT_ID_HEADER = "X-Client-Id";
+
+    /*
+     * Clientes identificados pelo endereço de origem. O cabeçalho X-Client-Id só é aceito quando
+     * a requisição vem de um proxy confiável; de qualquer outra origem ele é ignorado, para que
+     * o cliente não escape do limite trocando o valor a cada requisição.
+     */
+    @Bean
+    public KeyResolver clientKeyResolver(@Value("${gateway.rate-limit.trusted-proxies:}") Set<String> trustedProxies) {
+        return exchange -> {
+            InetSocketAddress remoteAddress = exchange.getRequest().getRemoteAddress();
+            String address = remoteAddress != null && remoteAddress.getAddress() != null
+                    ? remoteAddress.getAddress().getHostAddress()
+                    : null;
+
+            if (address != null && trustedProxies.contains(address)) {
+                String clientId = exchange.getRequest().getHeaders().getFirst(CLIENT_ID_HEADER);
+                if (clientId != null && !clientId.isBlank()) {
+                    return Mono.just("client:" + clientId);
+                }
+            }
+
+            return Mono.justOrEmpty(address);
+        };
+    }
+}
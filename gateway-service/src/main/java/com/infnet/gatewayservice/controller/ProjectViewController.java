@@ -0,0 +1,26 @@
+package com.infnet.gatewayservice.controller;
+
+import com.infnet.gatewayservice.model.ProjectView;
+import com.infnet.gatewayservice.service.ProjectViewService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequestMapping("/views/projects")
+public class ProjectViewController {
+    private final ProjectViewService projectViewService;
+
+    public ProjectViewController(ProjectViewService projectViewService) {
+        this.projectViewService = projectViewService;
+    }
+
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<ProjectView>> findById(@PathVariable Long id) {
+        return projectViewService.findProjectView(id)
+                .map(view -> ResponseEntity.status(view.status()).body(view));
+    }
+}
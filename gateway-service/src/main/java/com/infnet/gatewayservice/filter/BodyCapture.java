@@ -0,0 +1,54 @@
+package com.infnet.gatewayservice.filter;
+
+import org.reactivestreams.Publisher;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Captura o corpo de uma resposta do backend contando os bytes à medida que chegam. Até
+ * {@code maxBytes} os buffers são guardados; se o corpo termina dentro do limite, os bytes
+ * são entregues a {@code captured}. Assim que o limite é ultrapassado, os buffers guardados e
+ * os seguintes passam direto para {@code passThrough}, sem esperar o fim do corpo.
+ */
+final class BodyCapture {
+    private BodyCapture() {
+    }
+
+    static Mono<Void> capture(Publisher<? extends DataBuffer> body, long maxBytes,
+                              Function<byte[], Mono<Void>> captured,
+                              Function<Flux<DataBuffer>, Mono<Void>> passThrough) {
+        return Flux.defer(() -> {
+            AtomicLong size = new AtomicLong();
+
+            /* Depois de passar do limite, cada buffer segue sozinho para o cliente */
+            return Flux.<DataBuffer>from(body)
+                    .bufferUntil(buffer -> size.addAndGet(buffer.readableByteCount()) > maxBytes)
+                    .switchOnFirst((first, buffers) -> first.hasValue() && size.get() > maxBytes
+                            ? passThrough.apply(buffers.concatMapIterable(Function.identity()))
+                            : buffers.singleOrEmpty()
+                                    .defaultIfEmpty(List.of())
+                                    .flatMap(held -> captured.apply(join(held))));
+        })
+                .doOnDiscard(DataBuffer.class, DataBufferUtils::release)
+                .then();
+    }
+
+    private static byte[] join(List<DataBuffer> buffers) {
+        int size = buffers.stream().mapToInt(DataBuffer::readableByteCount).sum();
+        byte[] bytes = new byte[size];
+        int offset = 0;
+        for (DataBuffer buffer : buffers) {
+            int length = buffer.readableByteCount();
+            buffer.read(bytes, offset, length);
+            offset += length;
+            DataBufferUtils.release(buffer);
+        }
+        return bytes;
+    }
+}
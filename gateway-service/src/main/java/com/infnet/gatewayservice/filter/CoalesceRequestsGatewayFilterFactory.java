@@ -0,0 +1,200 @@
+package com.infnet.gatewayservice.filter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.reactivestreams.Publisher;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.OrderedGatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.support.HasRouteId;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Agrupa GETs idênticos em andamento em uma única chamada ao backend. A primeira requisição
+ * segue para o backend; as que chegam com a mesma chave enquanto ela não termina aguardam e
+ * recebem uma cópia da resposta. A chave é a rota, o caminho, a query e os cabeçalhos
+ * configurados, além dos cabeçalhos condicionais.
+ *
+ * <p>Respostas maiores que {@code maxBodySize}, respostas sem corpo e falhas não são
+ * compartilhadas: nesses casos cada requisição em espera faz a sua própria chamada.
+ */
+@Component
+public class CoalesceRequestsGatewayFilterFactory extends AbstractGatewayFilterFactory<CoalesceRequestsGatewayFilterFactory.Config> {
+    /* Depois do ResponseCache, para que só as falhas do cache sejam agrupadas */
+    static final int ORDER = ResponseCacheGatewayFilterFactory.ORDER + 1;
+
+    private static final List<String> CONDITIONAL_HEADERS = List.of(HttpHeaders.IF_NONE_MATCH, HttpHeaders.IF_MODIFIED_SINCE);
+
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, Sinks.One<SharedResponse>> inFlight = new ConcurrentHashMap<>();
+
+    public CoalesceRequestsGatewayFilterFactory(MeterRegistry meterRegistry) {
+        super(Config.class);
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        long maxBodyBytes = config.getMaxBodySize().toBytes();
+        Counter joined = Counter.builder("gateway.coalesce.joined")
+                .description("Requisições atendidas com a resposta de outra requisição idêntica")
+                .tag("route", String.valueOf(config.getRouteId()))
+                .register(meterRegistry);
+
+        return new OrderedGatewayFilter((exchange, chain) -> {
+            if (exchange.getRequest().getMethod() != HttpMethod.GET) {
+                return chain.filter(exchange);
+            }
+
+            String key = keyOf(config, exchange.getRequest());
+            Sinks.One<SharedResponse> sink = Sinks.one();
+            Sinks.One<SharedResponse> leader = inFlight.putIfAbsent(key, sink);
+
+            if (leader != null) {
+                joined.increment();
+                return leader.asMono()
+                        .timeout(config.getJoinTimeout(), Mono.just(SharedResponse.NOT_SHARED))
+                        .flatMap(shared -> shared == SharedResponse.NOT_SHARED
+                                ? chain.filter(exchange)
+                                : writeShared(exchange, shared));
+            }
+
+            SharingResponse response = new SharingResponse(exchange.getResponse(), key, sink, maxBodyBytes);
+            return chain.filter(exchange.mutate().response(response).build())
+                    .doFinally(signal -> response.share(SharedResponse.NOT_SHARED));
+        }, ORDER);
+    }
+
+    private Mono<Void> writeShared(ServerWebExchange exchange, SharedResponse shared) {
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(shared.status());
+        response.getHeaders().putAll(shared.headers());
+        response.getHeaders().setContentLength(shared.body().length);
+
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(shared.body())));
+    }
+
+    private static String keyOf(Config config, ServerHttpRequest request) {
+        StringBuilder key = new StringBuilder(String.valueOf(config.getRouteId())).append('|')
+                .append(request.getURI().getRawPath());
+        if (request.getURI().getRawQuery() != null) {
+            key.append('?').append(request.getURI().getRawQuery());
+        }
+
+        for (String header : config.getHeaders()) {
+            key.append('|').append(request.getHeaders().getOrDefault(header, List.of()));
+        }
+        for (String header : CONDITIONAL_HEADERS) {
+            key.append('|').append(request.getHeaders().getOrDefault(header, List.of()));
+        }
+
+        return key.toString();
+    }
+
+    /**
+     * Captura o corpo da resposta da requisição líder e o entrega às requisições em espera
+     * antes de escrevê-lo para o próprio cliente.
+     */
+    private final class SharingResponse extends ServerHttpResponseDecorator {
+        private final String key;
+        private final Sinks.One<SharedResponse> sink;
+        private final long maxBodyBytes;
+
+        SharingResponse(ServerHttpResponse delegate, String key, Sinks.One<SharedResponse> sink, long maxBodyBytes) {
+            super(delegate);
+            this.key = key;
+            this.sink = sink;
+            this.maxBodyBytes = maxBodyBytes;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            HttpStatusCode status = getStatusCode();
+            if (status == null || getHeaders().getContentLength() > maxBodyBytes) {
+                share(SharedResponse.NOT_SHARED);
+                return super.writeWith(body);
+            }
+
+            return BodyCapture.capture(body, maxBodyBytes, bytes -> {
+                share(new SharedResponse(status, ResponseHeaders.copyOf(getHeaders()), bytes));
+                return super.writeWith(Mono.just(bufferFactory().wrap(bytes)));
+            }, buffers -> {
+                share(SharedResponse.NOT_SHARED);
+                return super.writeWith(buffers);
+            });
+        }
+
+        /* Só a primeira chamada tem efeito; as seguintes encontram o sink já concluído */
+        void share(SharedResponse response) {
+            inFlight.remove(key, sink);
+            sink.tryEmitValue(response);
+        }
+    }
+
+    private record SharedResponse(HttpStatusCode status, HttpHeaders headers, byte[] body) {
+        static final SharedResponse NOT_SHARED = new SharedResponse(null, null, null);
+    }
+
+    public static class Config implements HasRouteId {
+        private String routeId;
+
+        /* Cabeçalhos que diferenciam as respostas; requisições com valores diferentes nunca são agrupadas */
+        private List<String> headers = List.of(HttpHeaders.ACCEPT, HttpHeaders.AUTHORIZATION, HttpHeaders.COOKIE);
+
+        private DataSize maxBodySize = DataSize.ofKilobytes(256);
+
+        /* Espera máxima pela requisição líder antes de seguir com uma chamada própria */
+        private Duration joinTimeout = Duration.ofSeconds(10);
+
+        @Override
+        public String getRouteId() {
+            return routeId;
+        }
+
+        @Override
+        public void setRouteId(String routeId) {
+            this.routeId = routeId;
+        }
+
+        public List<String> getHeaders() {
+            return headers;
+        }
+
+        public void setHeaders(List<String> headers) {
+            this.headers = headers;
+        }
+
+        public DataSize getMaxBodySize() {
+            return maxBodySize;
+        }
+
+        public void setMaxBodySize(DataSize maxBodySize) {
+            this.maxBodySize = maxBodySize;
+        }
+
+        public Duration getJoinTimeout() {
+            return joinTimeout;
+        }
+
+        public void setJoinTimeout(Duration joinTimeout) {
+            this.joinTimeout = joinTimeout;
+        }
+    }
+}
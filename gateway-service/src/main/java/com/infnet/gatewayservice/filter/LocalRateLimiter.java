@@ -0,0 +1,166 @@
+package com.infnet.gatewayservice.filter;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.ratelimit.AbstractRateLimiter;
+import org.springframework.cloud.gateway.support.ConfigurationService;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Rate limiter em memória para o filtro RequestRateLimiter, sem Redis. Cada par rota e
+ * cliente tem um token bucket atualizado por compare-and-set, sem locks. Os limites vêm dos
+ * argumentos {@code local-rate-limiter.*} do filtro em cada rota.
+ *
+ * <p>Como o estado é local, com várias instâncias do gateway o limite efetivo de um cliente
+ * é multiplicado pelo número de instâncias.
+ */
+@Component
+public class LocalRateLimiter extends AbstractRateLimiter<LocalRateLimiter.Config> {
+    public static final String CONFIGURATION_PROPERTY_NAME = "local-rate-limiter";
+
+    static final String REMAINING_HEADER = "X-RateLimit-Remaining";
+    static final String REPLENISH_RATE_HEADER = "X-RateLimit-Replenish-Rate";
+    static final String BURST_CAPACITY_HEADER = "X-RateLimit-Burst-Capacity";
+
+    private static final double NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final MeterRegistry meterRegistry;
+
+    /* Buckets ociosos são descartados; um bucket novo começa cheio, então isso nunca restringe mais */
+    private final Cache<String, TokenBucket> buckets;
+
+    public LocalRateLimiter(ConfigurationService configurationService,
+                            MeterRegistry meterRegistry,
+                            @Value("${gateway.rate-limit.max-buckets:100000}") long maxBuckets,
+                            @Value("${gateway.rate-limit.bucket-idle:10m}") Duration bucketIdle) {
+        super(Config.class, CONFIGURATION_PROPERTY_NAME, configurationService);
+        this.meterRegistry = meterRegistry;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxBuckets)
+                .expireAfterAccess(bucketIdle)
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, buckets, "gateway-rate-limit-buckets");
+    }
+
+    @Override
+    public Mono<Response> isAllowed(String routeId, String id) {
+        Config config = getConfig().get(routeId);
+        if (config == null) {
+            return Mono.just(new Response(true, Map.of()));
+        }
+        config.validate(routeId);
+
+        TokenBucket bucket = buckets.get(routeId + ":" + id, key -> new TokenBucket(config.getBurstCapacity(), System.nanoTime()));
+        long remaining = bucket.tryAcquire(config.getRequestedTokens(), config.getReplenishRate(), config.getBurstCapacity(), System.nanoTime());
+
+        Map<String, String> headers = new HashMap<>();
+        headers.put(REPLENISH_RATE_HEADER, String.valueOf(config.getReplenishRate()));
+        headers.put(BURST_CAPACITY_HEADER, String.valueOf(config.getBurstCapacity()));
+
+        if (remaining >= 0) {
+            headers.put(REMAINING_HEADER, String.valueOf(remaining));
+            return Mono.just(new Response(true, headers));
+        }
+
+        /* Valores negativos são a espera, em nanos, até haver tokens suficientes */
+        long retryAfterSeconds = Math.max(1, (long) Math.ceil(-remaining / NANOS_PER_SECOND));
+        headers.put(REMAINING_HEADER, "0");
+        headers.put(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+
+        Counter.builder("gateway.ratelimit.rejected")
+                .description("Requisições recusadas pelo rate limiter local")
+                .tag("route", routeId)
+                .register(meterRegistry)
+                .increment();
+
+        return Mono.just(new Response(false, headers));
+    }
+
+    static final class TokenBucket {
+        private final AtomicReference<State> state;
+
+        TokenBucket(int capacity, long now) {
+            this.state = new AtomicReference<>(new State(capacity, now));
+        }
+
+        /* Retorna os tokens restantes quando concede, ou menos a espera em nanos quando recusa */
+        long tryAcquire(int requested, int replenishRate, int capacity, long now) {
+            while (true) {
+                State current = state.get();
+                long elapsed = Math.max(0, now - current.updatedAt());
+                double tokens = Math.min(capacity, current.tokens() + elapsed * replenishRate / NANOS_PER_SECOND);
+
+                if (tokens < requested) {
+                    return -Math.max(1, (long) Math.ceil((requested - tokens) / replenishRate * NANOS_PER_SECOND));
+                }
+
+                State next = new State(tokens - requested, Math.max(now, current.updatedAt()));
+                if (state.compareAndSet(current, next)) {
+                    return (long) next.tokens();
+                }
+            }
+        }
+
+        private record State(double tokens, long updatedAt) {
+        }
+    }
+
+    public static class Config {
+        /* Tokens repostos por segundo */
+        private int replenishRate;
+
+        /* Tokens acumulados no máximo, ou seja, o tamanho da rajada permitida */
+        private int burstCapacity = 1;
+
+        /* Tokens consumidos por requisição */
+        private int requestedTokens = 1;
+
+        void validate(String routeId) {
+            if (replenishRate <= 0 || burstCapacity < requestedTokens || requestedTokens <= 0) {
+                throw new IllegalArgumentException("Configuração inválida do rate limiter na rota " + routeId
+                        + ": replenishRate deve ser positivo e burstCapacity não pode ser menor que requestedTokens");
+            }
+        }
+
+        public int getReplenishRate() {
+            return replenishRate;
+        }
+
+        public Config setReplenishRate(int replenishRate) {
+            this.replenishRate = replenishRate;
+            return this;
+        }
+
+        public int getBurstCapacity() {
+            return burstCapacity;
+        }
+
+        public Config setBurstCapacity(int burstCapacity) {
+            this.burstCapacity = burstCapacity;
+            return this;
+        }
+
+        public int getRequestedTokens() {
+            return requestedTokens;
+        }
+
+        public Config setRequestedTokens(int requestedTokens) {
+            this.requestedTokens = requestedTokens;
+            return this;
+        }
+    }
+}
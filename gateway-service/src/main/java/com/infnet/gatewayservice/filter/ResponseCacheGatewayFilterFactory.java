@@ -0,0 +1,327 @@
+package com.infnet.gatewayservice.filter;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.reactivestreams.Publisher;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.cloud.gateway.filter.OrderedGatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.support.HasRouteId;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cache de respostas GET por rota. Cada resposta guardada recebe um ETag (o do backend ou o
+ * MD5 do corpo), e {@code If-None-Match} é respondido com 304 sem chegar ao backend. O
+ * Cache-Control da requisição e da resposta é respeitado, e qualquer escrita bem-sucedida na
+ * rota esvazia o cache dela.
+ *
+ * <p>Como no CoalesceRequests, Authorization e Cookie fazem parte da chave, então a resposta de
+ * um cliente nunca é entregue a outro. Além disso, respostas a requisições com credenciais só
+ * são guardadas quando o backend as marca com {@code Cache-Control: public}.
+ *
+ * <p>O corpo é guardado em memória só até {@code maxBodySize}; respostas maiores passam direto
+ * para o cliente assim que o limite é ultrapassado e não são guardadas.
+ *
+ * <p>Uso no application.yaml:
+ * <pre>
+ * filters:
+ *   - name: ResponseCache
+ *     args:
+ *       timeToLive: 30s
+ *       maxSize: 10MB
+ *       maxBodySize: 512KB
+ * </pre>
+ */
+@Component
+public class ResponseCacheGatewayFilterFactory extends AbstractGatewayFilterFactory<ResponseCacheGatewayFilterFactory.Config> {
+    static final String CACHE_STATUS_HEADER = "X-Cache";
+
+    static final int ORDER = NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 2;
+
+    private static final Set<HttpMethod> WRITE_METHODS = Set.of(HttpMethod.POST, HttpMethod.PUT, HttpMethod.PATCH, HttpMethod.DELETE);
+
+    private final MeterRegistry meterRegistry;
+
+    /* As rotas são reconstruídas a cada atualização do Eureka; o cache de cada rota sobrevive a isso */
+    private final Map<RouteKey, RouteCache> routeCaches = new ConcurrentHashMap<>();
+
+    public ResponseCacheGatewayFilterFactory(MeterRegistry meterRegistry) {
+        super(Config.class);
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public List<String> shortcutFieldOrder() {
+        return List.of("timeToLive", "maxSize");
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        RouteCache routeCache = routeCaches.computeIfAbsent(
+                new RouteKey(config.getRouteId(), config.getMaxSize().toBytes(), config.getTimeToLive()),
+                this::createCache);
+        long maxBodyBytes = config.getMaxBodySize().toBytes();
+
+        /* Antes do CoalesceRequests e do NettyWriteResponseFilter, para que o corpo passe pelo decorator ao ser escrito */
+        return new OrderedGatewayFilter((exchange, chain) -> {
+            ServerHttpRequest request = exchange.getRequest();
+
+            if (WRITE_METHODS.contains(request.getMethod())) {
+                return chain.filter(exchange).doOnSuccess(done -> {
+                    HttpStatusCode status = exchange.getResponse().getStatusCode();
+                    if (status != null && status.is2xxSuccessful()) {
+                        routeCache.invalidateAll();
+                    }
+                });
+            }
+
+            String requestCacheControl = cacheControlOf(request.getHeaders());
+            if (request.getMethod() != HttpMethod.GET || requestCacheControl.contains("no-store")) {
+                return chain.filter(exchange);
+            }
+
+            String key = keyOf(request);
+            if (!requestCacheControl.contains("no-cache")) {
+                CachedResponse cached = routeCache.cache().getIfPresent(key);
+                if (cached != null) {
+                    return writeCached(exchange, cached);
+                }
+            }
+
+            boolean credentialed = request.getHeaders().containsKey(HttpHeaders.AUTHORIZATION)
+                    || request.getHeaders().containsKey(HttpHeaders.COOKIE);
+            CachingResponse response = new CachingResponse(exchange, key, routeCache, routeCache.generation(), maxBodyBytes, credentialed);
+            return chain.filter(exchange.mutate().response(response).build());
+        }, ORDER);
+    }
+
+    private RouteCache createCache(RouteKey routeKey) {
+        Cache<String, CachedResponse> cache = Caffeine.newBuilder()
+                .maximumWeight(routeKey.maxBytes())
+                .weigher((String key, CachedResponse response) -> key.length() + response.body().length)
+                .expireAfter(Expiry.writing((String key, CachedResponse response) -> response.timeToLive()))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "gateway-response", "route", String.valueOf(routeKey.routeId()));
+
+        return new RouteCache(cache, routeKey.timeToLive(), new AtomicLong());
+    }
+
+    private static Mono<Void> writeCached(ServerWebExchange exchange, CachedResponse cached) {
+        ServerHttpResponse response = exchange.getResponse();
+        response.getHeaders().putAll(cached.headers());
+        response.getHeaders().set(CACHE_STATUS_HEADER, "HIT");
+
+        if (matchesEtag(exchange.getRequest().getHeaders(), cached.etag())) {
+            response.setStatusCode(HttpStatus.NOT_MODIFIED);
+            return response.setComplete();
+        }
+
+        response.setStatusCode(HttpStatus.OK);
+        response.getHeaders().setContentLength(cached.body().length);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(cached.body())));
+    }
+
+    /* As credenciais entram na chave como hash, para não manter tokens e cookies em memória */
+    private static String keyOf(ServerHttpRequest request) {
+        String query = request.getURI().getRawQuery();
+        String accept = request.getHeaders().getFirst(HttpHeaders.ACCEPT);
+        String credentials = String.join("|", request.getHeaders().getOrEmpty(HttpHeaders.AUTHORIZATION))
+                + "|" + String.join("|", request.getHeaders().getOrEmpty(HttpHeaders.COOKIE));
+
+        return request.getURI().getRawPath() + (query != null ? "?" + query : "") + "|" + (accept != null ? accept : "")
+                + "|" + DigestUtils.md5DigestAsHex(credentials.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String cacheControlOf(HttpHeaders headers) {
+        String cacheControl = headers.getCacheControl();
+        return cacheControl != null ? cacheControl.toLowerCase(Locale.ROOT) : "";
+    }
+
+    private static boolean matchesEtag(HttpHeaders requestHeaders, String etag) {
+        for (String candidate : requestHeaders.getIfNoneMatch()) {
+            if ("*".equals(candidate) || stripWeak(candidate).equals(stripWeak(etag))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String stripWeak(String etag) {
+        return etag.startsWith("W/") ? etag.substring(2) : etag;
+    }
+
+    /* max-age ou s-maxage da resposta encurtam o TTL da rota; null indica que a resposta não pode ser guardada */
+    private static Duration timeToLiveOf(HttpHeaders responseHeaders, Duration routeTimeToLive, boolean credentialed) {
+        String cacheControl = cacheControlOf(responseHeaders);
+        if (cacheControl.contains("no-store") || cacheControl.contains("no-cache") || cacheControl.contains("private")
+                || responseHeaders.containsKey(HttpHeaders.SET_COOKIE) || (credentialed && !cacheControl.contains("public"))) {
+            return null;
+        }
+
+        Duration timeToLive = routeTimeToLive;
+        for (String directive : cacheControl.split(",")) {
+            String[] parts = directive.trim().split("=", 2);
+            if (parts.length == 2 && (parts[0].equals("max-age") || parts[0].equals("s-maxage"))) {
+                try {
+                    Duration maxAge = Duration.ofSeconds(Long.parseLong(parts[1].trim()));
+                    if (maxAge.compareTo(timeToLive) < 0) {
+                        timeToLive = maxAge;
+                    }
+                } catch (NumberFormatException e) {
+                    return null;
+                }
+            }
+        }
+
+        return timeToLive.isZero() || timeToLive.isNegative() ? null : timeToLive;
+    }
+
+    /**
+     * Guarda o corpo de respostas 200 enquanto ele é escrito para o cliente. A resposta só é
+     * guardada se nenhuma escrita esvaziou o cache da rota desde o início da requisição.
+     */
+    private static final class CachingResponse extends ServerHttpResponseDecorator {
+        private final ServerWebExchange exchange;
+        private final String key;
+        private final RouteCache routeCache;
+        private final long generation;
+        private final long maxBodyBytes;
+        private final boolean credentialed;
+
+        CachingResponse(ServerWebExchange exchange, String key, RouteCache routeCache, long generation, long maxBodyBytes,
+                        boolean credentialed) {
+            super(exchange.getResponse());
+            this.exchange = exchange;
+            this.key = key;
+            this.routeCache = routeCache;
+            this.generation = generation;
+            this.maxBodyBytes = maxBodyBytes;
+            this.credentialed = credentialed;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            HttpStatusCode status = getStatusCode();
+            Duration timeToLive = timeToLiveOf(getHeaders(), routeCache.timeToLive(), credentialed);
+            long contentLength = getHeaders().getContentLength();
+
+            if (status == null || status.value() != HttpStatus.OK.value() || timeToLive == null || contentLength > maxBodyBytes) {
+                return super.writeWith(body);
+            }
+
+            return BodyCapture.capture(body, maxBodyBytes, bytes -> {
+                String etag = getHeaders().getETag();
+                if (etag == null) {
+                    etag = "\"" + DigestUtils.md5DigestAsHex(bytes) + "\"";
+                    getHeaders().setETag(etag);
+                }
+                getHeaders().set(CACHE_STATUS_HEADER, "MISS");
+
+                routeCache.putIfCurrent(key, new CachedResponse(ResponseHeaders.copyOf(getHeaders(), CACHE_STATUS_HEADER), bytes, etag, timeToLive), generation);
+
+                if (matchesEtag(exchange.getRequest().getHeaders(), etag)) {
+                    setStatusCode(HttpStatus.NOT_MODIFIED);
+                    getHeaders().remove(HttpHeaders.CONTENT_LENGTH);
+                    return getDelegate().setComplete();
+                }
+
+                getHeaders().setContentLength(bytes.length);
+                return super.writeWith(Mono.just(bufferFactory().wrap(bytes)));
+            }, super::writeWith);
+        }
+    }
+
+    private record RouteKey(String routeId, long maxBytes, Duration timeToLive) {
+    }
+
+    private record CachedResponse(HttpHeaders headers, byte[] body, String etag, Duration timeToLive) {
+    }
+
+    /* A geração muda a cada escrita; respostas buscadas antes dela não são guardadas */
+    private record RouteCache(Cache<String, CachedResponse> cache, Duration timeToLive, AtomicLong generations) {
+        long generation() {
+            return generations.get();
+        }
+
+        void invalidateAll() {
+            generations.incrementAndGet();
+            cache.invalidateAll();
+        }
+
+        void putIfCurrent(String key, CachedResponse response, long generation) {
+            if (generations.get() == generation) {
+                cache.put(key, response);
+            }
+        }
+    }
+
+    public static class Config implements HasRouteId {
+        private String routeId;
+
+        private Duration timeToLive = Duration.ofMinutes(1);
+
+        private DataSize maxSize = DataSize.ofMegabytes(10);
+
+        private DataSize maxBodySize = DataSize.ofKilobytes(512);
+
+        @Override
+        public String getRouteId() {
+            return routeId;
+        }
+
+        @Override
+        public void setRouteId(String routeId) {
+            this.routeId = routeId;
+        }
+
+        public Duration getTimeToLive() {
+            return timeToLive;
+        }
+
+        public void setTimeToLive(Duration timeToLive) {
+            this.timeToLive = timeToLive;
+        }
+
+        public DataSize getMaxSize() {
+            return maxSize;
+        }
+
+        public void setMaxSize(DataSize maxSize) {
+            this.maxSize = maxSize;
+        }
+
+        public DataSize getMaxBodySize() {
+            return maxBodySize;
+        }
+
+        public void setMaxBodySize(DataSize maxBodySize) {
+            this.maxBodySize = maxBodySize;
+        }
+    }
+}
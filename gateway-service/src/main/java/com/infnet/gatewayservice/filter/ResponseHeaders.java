@@ -0,0 +1,32 @@
+package com.infnet.gatewayservice.filter;
+
+import org.springframework.http.HttpHeaders;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Cópia dos cabeçalhos de uma resposta do backend para ser reenviada a outros clientes.
+ */
+final class ResponseHeaders {
+    /* Cabeçalhos que descrevem a conexão ou o corpo original e não valem para a resposta reaproveitada */
+    private static final Set<String> CONNECTION_HEADERS = Set.of(HttpHeaders.CONNECTION, HttpHeaders.TRANSFER_ENCODING,
+            HttpHeaders.CONTENT_LENGTH, HttpHeaders.DATE, "Keep-Alive");
+
+    private ResponseHeaders() {
+    }
+
+    static HttpHeaders copyOf(HttpHeaders source, String... excluded) {
+        HttpHeaders headers = new HttpHeaders();
+        source.forEach((name, values) -> {
+            if (!matches(name, CONNECTION_HEADERS) && !matches(name, Set.of(excluded))) {
+                headers.put(name, List.copyOf(values));
+            }
+        });
+        return headers;
+    }
+
+    private static boolean matches(String name, Set<String> names) {
+        return names.stream().anyMatch(name::equalsIgnoreCase);
+    }
+}
@@ -0,0 +1,74 @@
+package com.infnet.gatewayservice.filter;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.ratelimit.KeyResolver;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import reactor.core.publisher.Mono;
+
+/**
+ * Controle de admissão das páginas montadas pelo próprio gateway em {@code /views/**}. Essas
+ * requisições não passam por nenhuma rota, então o RequestRateLimiter das rotas não as alcança;
+ * aqui o mesmo {@link LocalRateLimiter} e o mesmo resolvedor de clientes são aplicados com os
+ * limites de {@code gateway.views.rate-limit.*}. Cada página gera duas chamadas aos backends,
+ * então sem esse limite ela é o caminho mais barato para sobrecarregá-los.
+ */
+@Component
+public class ViewsAdmissionFilter implements WebFilter {
+    static final String ROUTE_ID = "views";
+
+    private static final String EMPTY_KEY = "____EMPTY_KEY__";
+
+    private static final PathPattern VIEWS_PATTERN = PathPatternParser.defaultInstance.parse("/views/**");
+
+    private final LocalRateLimiter rateLimiter;
+    private final KeyResolver clientKeyResolver;
+
+    public ViewsAdmissionFilter(LocalRateLimiter rateLimiter,
+                                KeyResolver clientKeyResolver,
+                                @Value("${gateway.views.rate-limit.replenish-rate:20}") int replenishRate,
+                                @Value("${gateway.views.rate-limit.burst-capacity:40}") int burstCapacity) {
+        this.rateLimiter = rateLimiter;
+        this.clientKeyResolver = clientKeyResolver;
+
+        /* Os limites das rotas vêm dos argumentos do filtro; os das páginas são registrados aqui */
+        rateLimiter.getConfig().put(ROUTE_ID, new LocalRateLimiter.Config()
+                .setReplenishRate(replenishRate)
+                .setBurstCapacity(burstCapacity));
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        if (!VIEWS_PATTERN.matches(exchange.getRequest().getPath().pathWithinApplication())) {
+            return chain.filter(exchange);
+        }
+
+        ServerHttpResponse response = exchange.getResponse();
+
+        /* Como no RequestRateLimiter, requisições sem cliente identificado são recusadas */
+        return clientKeyResolver.resolve(exchange)
+                .defaultIfEmpty(EMPTY_KEY)
+                .flatMap(key -> {
+                    if (EMPTY_KEY.equals(key)) {
+                        response.setStatusCode(HttpStatus.FORBIDDEN);
+                        return response.setComplete();
+                    }
+
+                    return rateLimiter.isAllowed(ROUTE_ID, key).flatMap(result -> {
+                        result.getHeaders().forEach(response.getHeaders()::add);
+                        if (result.isAllowed()) {
+                            return chain.filter(exchange);
+                        }
+
+                        response.setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+                        return response.setComplete();
+                    });
+                });
+    }
+}
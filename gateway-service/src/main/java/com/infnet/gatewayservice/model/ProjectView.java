@@ -0,0 +1,20 @@
+package com.infnet.gatewayservice.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.springframework.http.HttpStatusCode;
+
+import java.util.Map;
+
+/**
+ * Página de projeto montada pelo gateway: o projeto vindo do project-service e os totais das
+ * tarefas vindos do task-service. As partes que não responderam a tempo ficam nulas e o
+ * motivo aparece em {@code unavailable}.
+ */
+@JsonInclude(JsonInclude.Include.NON_EMPTY)
+public record ProjectView(JsonNode project,
+                          JsonNode taskRollup,
+                          Map<String, String> unavailable,
+                          @JsonIgnore HttpStatusCode status) {
+}
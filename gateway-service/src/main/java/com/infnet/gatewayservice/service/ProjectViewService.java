@@ -0,0 +1,108 @@
+package com.infnet.gatewayservice.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.infnet.gatewayservice.model.ProjectView;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.loadbalancer.reactive.ReactorLoadBalancerExchangeFilterFunction;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Consulta o project-service e o task-service ao mesmo tempo, cada um com seu próprio timeout,
+ * de modo que a página custa o tempo da chamada mais lenta e não a soma das duas.
+ */
+@Service
+public class ProjectViewService {
+    private static final Logger log = LoggerFactory.getLogger(ProjectViewService.class);
+
+    private static final String PROJECT_URI = "http://PROJECT-SERVICE/api/projects/{id}";
+    private static final String TASK_ROLLUP_URI = "http://TASK-SERVICE/api/tasks/rollups/{id}";
+
+    private final WebClient webClient;
+    private final Duration projectTimeout;
+    private final Duration tasksTimeout;
+
+    public ProjectViewService(WebClient.Builder webClientBuilder,
+                              ReactorLoadBalancerExchangeFilterFunction loadBalancerFunction,
+                              @Value("${gateway.views.project-timeout:2s}") Duration projectTimeout,
+                              @Value("${gateway.views.tasks-timeout:1s}") Duration tasksTimeout) {
+        /* Balanceamento só neste cliente; o WebClient.Builder padrão continua sem lb:// */
+        this.webClient = webClientBuilder.filter(loadBalancerFunction).build();
+        this.projectTimeout = projectTimeout;
+        this.tasksTimeout = tasksTimeout;
+    }
+
+    public Mono<ProjectView> findProjectView(Long id) {
+        Mono<Leg> project = fetch("project", PROJECT_URI, id, projectTimeout);
+        Mono<Leg> taskRollup = fetch("taskRollup", TASK_ROLLUP_URI, id, tasksTimeout);
+
+        return Mono.zip(project, taskRollup).map(legs -> {
+            Leg projectLeg = legs.getT1();
+            Leg taskRollupLeg = legs.getT2();
+
+            Map<String, String> unavailable = new LinkedHashMap<>();
+            projectLeg.addErrorTo(unavailable);
+            taskRollupLeg.addErrorTo(unavailable);
+
+            return new ProjectView(projectLeg.body(), taskRollupLeg.body(), unavailable, statusOf(projectLeg, taskRollupLeg));
+        });
+    }
+
+    /* Erros do cliente no projeto (ID inválido ou inexistente) são repassados; falhas do backend viram resultado parcial */
+    private static HttpStatusCode statusOf(Leg project, Leg taskRollup) {
+        if (project.error() == null) {
+            return HttpStatus.OK;
+        }
+        if (project.status().is4xxClientError()) {
+            return project.status();
+        }
+
+        return taskRollup.error() == null ? HttpStatus.OK : project.status();
+    }
+
+    private Mono<Leg> fetch(String name, String uri, Long id, Duration timeout) {
+        return webClient.get()
+                .uri(uri, id)
+                .retrieve()
+                .bodyToMono(JsonNode.class)
+                .timeout(timeout)
+                .map(body -> new Leg(name, body, null, HttpStatus.OK))
+                .defaultIfEmpty(new Leg(name, null, "Resposta vazia", HttpStatus.BAD_GATEWAY))
+                .onErrorResume(e -> {
+                    Leg failed = Leg.failed(name, e);
+                    log.warn("Falha ao buscar {} do projeto {}: {}", name, id, failed.error());
+                    return Mono.just(failed);
+                });
+    }
+
+    private record Leg(String name, JsonNode body, String error, HttpStatusCode status) {
+        static Leg failed(String name, Throwable e) {
+            if (e instanceof WebClientResponseException response) {
+                String message = response.getResponseBodyAsString();
+                return new Leg(name, null, message.isBlank() ? response.getStatusText() : message, response.getStatusCode());
+            }
+            if (e instanceof TimeoutException) {
+                return new Leg(name, null, "Tempo de resposta esgotado", HttpStatus.GATEWAY_TIMEOUT);
+            }
+
+            return new Leg(name, null, String.valueOf(e.getMessage()), HttpStatus.BAD_GATEWAY);
+        }
+
+        void addErrorTo(Map<String, String> errors) {
+            if (error != null) {
+                errors.put(name, error);
+            }
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.infnet.gatewayservice.filter;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BodyCaptureTest {
+    private final DefaultDataBufferFactory bufferFactory = DefaultDataBufferFactory.sharedInstance;
+
+    @Test
+    @DisplayName("Deve entregar o corpo inteiro quando ele cabe no limite")
+    void capturedTest() {
+        List<String> captured = new CopyOnWriteArrayList<>();
+
+        BodyCapture.capture(Flux.just(buffer("abc"), buffer("def")), 10,
+                bytes -> {
+                    captured.add(new String(bytes, StandardCharsets.UTF_8));
+                    return Mono.empty();
+                },
+                buffers -> Mono.error(new AssertionError("não deveria passar direto"))).block();
+
+        assertThat(captured).containsExactly("abcdef");
+    }
+
+    @Test
+    @DisplayName("Deve entregar um corpo vazio quando o backend não envia buffers")
+    void emptyBodyTest() {
+        List<Integer> captured = new CopyOnWriteArrayList<>();
+
+        BodyCapture.capture(Flux.empty(), 10,
+                bytes -> {
+                    captured.add(bytes.length);
+                    return Mono.empty();
+                },
+                buffers -> Mono.error(new AssertionError("não deveria passar direto"))).block();
+
+        assertThat(captured).containsExactly(0);
+    }
+
+    @Test
+    @DisplayName("Deve passar os buffers adiante assim que o limite é ultrapassado, sem esperar o fim do corpo")
+    void passThroughTest() {
+        Sinks.Many<DataBuffer> body = Sinks.many().unicast().onBackpressureBuffer();
+        List<String> written = new CopyOnWriteArrayList<>();
+
+        Mono<Void> result = BodyCapture.capture(body.asFlux(), 4,
+                bytes -> Mono.error(new AssertionError("não deveria guardar o corpo")),
+                buffers -> buffers.doOnNext(buffer -> written.add(buffer.toString(StandardCharsets.UTF_8))).then());
+        result.subscribe();
+
+        body.tryEmitNext(buffer("abc"));
+        assertThat(written).isEmpty();
+
+        body.tryEmitNext(buffer("def"));
+        assertThat(written).containsExactly("abc", "def");
+
+        body.tryEmitNext(buffer("ghi"));
+        assertThat(written).containsExactly("abc", "def", "ghi");
+
+        body.tryEmitComplete();
+    }
+
+    private DataBuffer buffer(String value) {
+        return bufferFactory.wrap(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,81 @@
+package com.infnet.gatewayservice.filter;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.support.ConfigurationService;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class ViewsAdmissionFilterTest {
+    private final AtomicInteger passed = new AtomicInteger();
+    private final WebFilterChain chain = exchange -> {
+        passed.incrementAndGet();
+        return Mono.empty();
+    };
+
+    private ViewsAdmissionFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        LocalRateLimiter rateLimiter = new LocalRateLimiter(mock(ConfigurationService.class), new SimpleMeterRegistry(),
+                1_000, Duration.ofMinutes(1));
+        filter = new ViewsAdmissionFilter(rateLimiter,
+                exchange -> Mono.justOrEmpty(exchange.getRequest().getHeaders().getFirst("X-Test-Client")), 1, 2);
+    }
+
+    @Test
+    @DisplayName("Deve recusar com 429 as páginas acima do limite do cliente")
+    void rejectTest() {
+        assertThat(filter(views("a")).getResponse().getStatusCode()).isNotEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        assertThat(filter(views("a")).getResponse().getStatusCode()).isNotEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+
+        MockServerWebExchange rejected = filter(views("a"));
+
+        assertThat(rejected.getResponse().getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        assertThat(rejected.getResponse().getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+        assertThat(filter(views("b")).getResponse().getStatusCode()).isNotEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        assertThat(passed).hasValue(3);
+    }
+
+    @Test
+    @DisplayName("Deve deixar passar as requisições fora de /views sem consumir tokens")
+    void otherPathsTest() {
+        for (int i = 0; i < 5; i++) {
+            filter(MockServerHttpRequest.get("/api/projects/1").header("X-Test-Client", "a"));
+        }
+
+        assertThat(passed).hasValue(5);
+        assertThat(filter(views("a")).getResponse().getStatusCode()).isNotEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+    }
+
+    @Test
+    @DisplayName("Deve recusar com 403 as páginas sem cliente identificado")
+    void emptyKeyTest() {
+        MockServerWebExchange exchange = filter(MockServerHttpRequest.get("/views/projects/1"));
+
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.FORBIDDEN);
+        assertThat(passed).hasValue(0);
+    }
+
+    private static MockServerHttpRequest.BaseBuilder<?> views(String client) {
+        return MockServerHttpRequest.get("/views/projects/1").header("X-Test-Client", client);
+    }
+
+    private MockServerWebExchange filter(MockServerHttpRequest.BaseBuilder<?> request) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(request);
+        filter.filter(exchange, chain).block();
+        return exchange;
+    }
+}
@@ -0,0 +1,102 @@
+package com.infnet.gatewayservice.service;
+
+import com.infnet.gatewayservice.model.ProjectView;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.client.loadbalancer.reactive.ReactorLoadBalancerExchangeFilterFunction;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ProjectViewServiceTest {
+    private static final Duration TIMEOUT = Duration.ofMillis(200);
+
+    @Test
+    @DisplayName("Deve montar a página com as duas partes quando os serviços respondem")
+    void fullViewTest() {
+        ProjectViewService service = service(request -> json(HttpStatus.OK, isProject(request)
+                ? "{\"id\":1,\"name\":\"Projeto 1\"}"
+                : "{\"projectId\":1,\"taskCount\":3}"));
+
+        ProjectView view = service.findProjectView(1L).block();
+
+        assertThat(view.status()).isEqualTo(HttpStatus.OK);
+        assertThat(view.project().get("name").asText()).isEqualTo("Projeto 1");
+        assertThat(view.taskRollup().get("taskCount").asInt()).isEqualTo(3);
+        assertThat(view.unavailable()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Deve responder com o projeto quando o task-service estoura o timeout")
+    void tasksTimeoutTest() {
+        ProjectViewService service = service(request -> isProject(request)
+                ? json(HttpStatus.OK, "{\"id\":1,\"name\":\"Projeto 1\"}")
+                : Mono.never());
+
+        long start = System.nanoTime();
+        ProjectView view = service.findProjectView(1L).block(Duration.ofSeconds(2));
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        assertThat(view.status()).isEqualTo(HttpStatus.OK);
+        assertThat(view.project()).isNotNull();
+        assertThat(view.taskRollup()).isNull();
+        assertThat(view.unavailable()).containsEntry("taskRollup", "Tempo de resposta esgotado");
+        assertThat(elapsed).isLessThan(Duration.ofSeconds(1));
+    }
+
+    @Test
+    @DisplayName("Deve repassar o 404 do projeto mesmo com os totais disponíveis")
+    void projectNotFoundTest() {
+        ProjectViewService service = service(request -> isProject(request)
+                ? json(HttpStatus.NOT_FOUND, "Projeto não encontrado")
+                : json(HttpStatus.OK, "{\"projectId\":1,\"taskCount\":0}"));
+
+        ProjectView view = service.findProjectView(1L).block();
+
+        assertThat(view.status()).isEqualTo(HttpStatus.NOT_FOUND);
+        assertThat(view.project()).isNull();
+        assertThat(view.unavailable()).containsEntry("project", "Projeto não encontrado");
+    }
+
+    @Test
+    @DisplayName("Deve responder 504 quando nenhum dos serviços responde a tempo")
+    void bothTimeoutTest() {
+        ProjectViewService service = service(request -> Mono.never());
+
+        ProjectView view = service.findProjectView(1L).block(Duration.ofSeconds(2));
+
+        assertThat(view.status()).isEqualTo(HttpStatus.GATEWAY_TIMEOUT);
+        assertThat(view.unavailable()).containsOnlyKeys("project", "taskRollup");
+    }
+
+    private static ProjectViewService service(ExchangeFunction backends) {
+        ReactorLoadBalancerExchangeFilterFunction loadBalancer = mock(ReactorLoadBalancerExchangeFilterFunction.class);
+        when(loadBalancer.filter(any(), any()))
+                .thenAnswer(invocation -> ((ExchangeFunction) invocation.getArgument(1)).exchange(invocation.getArgument(0)));
+
+        return new ProjectViewService(WebClient.builder().exchangeFunction(backends), loadBalancer, TIMEOUT, TIMEOUT);
+    }
+
+    private static boolean isProject(ClientRequest request) {
+        return "PROJECT-SERVICE".equalsIgnoreCase(request.url().getHost());
+    }
+
+    private static Mono<ClientResponse> json(HttpStatus status, String body) {
+        return Mono.just(ClientResponse.create(status)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .body(body)
+                .build());
+    }
+}
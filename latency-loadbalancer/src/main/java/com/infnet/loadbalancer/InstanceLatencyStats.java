@@ -0,0 +1,92 @@
+package com.infnet.loadbalancer;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Latência e requisições em andamento de uma instância. A latência é uma média móvel
+ * exponencial com decaimento no tempo que sobe imediatamente quando chega uma amostra
+ * maior (peak EWMA), de modo que uma pausa de GC afasta o tráfego na hora e a instância
+ * volta a receber requisições aos poucos.
+ *
+ * <p>O decaimento também vale sem amostras novas: a latência lida em {@link #cost()} cai com o
+ * tempo desde a última medição, como se a instância tivesse respondido instantaneamente. Uma
+ * instância que parou de ser escolhida por causa de um pico volta a ser testada em alguns
+ * períodos de decaimento, em vez de ficar de fora para sempre.
+ */
+public final class InstanceLatencyStats {
+    private final AtomicReference<Ewma> ewma;
+    private final AtomicInteger outstanding = new AtomicInteger();
+    private final LongAdder selections = new LongAdder();
+    private final long decayNanos;
+    private final LongSupplier nanoClock;
+
+    InstanceLatencyStats(long initialLatencyNanos, long decayNanos, LongSupplier nanoClock) {
+        this.ewma = new AtomicReference<>(new Ewma(initialLatencyNanos, nanoClock.getAsLong(), false));
+        this.decayNanos = decayNanos;
+        this.nanoClock = nanoClock;
+    }
+
+    void selected() {
+        selections.increment();
+    }
+
+    void start() {
+        outstanding.incrementAndGet();
+    }
+
+    /* latencyNanos negativo indica que a duração não foi medida; só a requisição em andamento é baixada */
+    void complete(long latencyNanos, long now) {
+        outstanding.updateAndGet(current -> Math.max(0, current - 1));
+        if (latencyNanos < 0) {
+            return;
+        }
+
+        while (true) {
+            Ewma current = ewma.get();
+            double decayed = decayedNanos(current, now);
+            double next;
+            /* A latência inicial é só uma estimativa e é descartada na primeira medição */
+            if (!current.measured() || latencyNanos > decayed) {
+                next = latencyNanos;
+            } else {
+                next = decayed + latencyNanos * (1 - weight(current, now));
+            }
+
+            if (ewma.compareAndSet(current, new Ewma(next, Math.max(now, current.updatedAt()), true))) {
+                return;
+            }
+        }
+    }
+
+    /* Latência esperada de uma nova requisição: a média multiplicada pela fila à frente dela */
+    public double cost() {
+        return decayedNanos(ewma.get(), nanoClock.getAsLong()) * (outstanding.get() + 1);
+    }
+
+    public double latencyMillis() {
+        return decayedNanos(ewma.get(), nanoClock.getAsLong()) / 1_000_000;
+    }
+
+    /* A estimativa inicial não decai; só medições reais envelhecem */
+    private double decayedNanos(Ewma current, long now) {
+        return current.measured() ? current.nanos() * weight(current, now) : current.nanos();
+    }
+
+    private double weight(Ewma current, long now) {
+        return Math.exp(-Math.max(0, now - current.updatedAt()) / (double) decayNanos);
+    }
+
+    public int outstanding() {
+        return outstanding.get();
+    }
+
+    public long selections() {
+        return selections.sum();
+    }
+
+    private record Ewma(double nanos, long updatedAt, boolean measured) {
+    }
+}
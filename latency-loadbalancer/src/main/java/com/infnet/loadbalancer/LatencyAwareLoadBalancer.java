@@ -0,0 +1,69 @@
+package com.infnet.loadbalancer;
+
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+import org.springframework.cloud.client.loadbalancer.EmptyResponse;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.loadbalancer.core.ReactorServiceInstanceLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.random.RandomGenerator;
+
+/**
+ * Escolhe entre duas instâncias sorteadas a de menor custo, isto é, latência média vezes
+ * requisições em andamento mais um. Comparar só duas evita que todo o tráfego corra para a
+ * mesma instância quando as estatísticas estão defasadas, e a instância mais lenta nunca
+ * vence uma comparação.
+ */
+public class LatencyAwareLoadBalancer implements ReactorServiceInstanceLoadBalancer {
+    private final String serviceId;
+    private final Supplier<ServiceInstanceListSupplier> instanceSupplier;
+    private final LatencyStatsRegistry latencyStatsRegistry;
+    private final RandomGenerator random;
+
+    public LatencyAwareLoadBalancer(String serviceId,
+                                    Supplier<ServiceInstanceListSupplier> instanceSupplier,
+                                    LatencyStatsRegistry latencyStatsRegistry,
+                                    RandomGenerator random) {
+        this.serviceId = serviceId;
+        this.instanceSupplier = instanceSupplier;
+        this.latencyStatsRegistry = latencyStatsRegistry;
+        this.random = random;
+    }
+
+    @Override
+    @SuppressWarnings("rawtypes")
+    public Mono<Response<ServiceInstance>> choose(Request request) {
+        return instanceSupplier.get().get(request).next().map(this::choose);
+    }
+
+    Response<ServiceInstance> choose(List<ServiceInstance> instances) {
+        if (instances.isEmpty()) {
+            return new EmptyResponse();
+        }
+
+        ServiceInstance chosen = instances.get(0);
+        if (instances.size() > 1) {
+            int first = random.nextInt(instances.size());
+            int second = random.nextInt(instances.size() - 1);
+            if (second >= first) {
+                second++;
+            }
+
+            ServiceInstance a = instances.get(first);
+            ServiceInstance b = instances.get(second);
+            chosen = latencyStatsRegistry.statsOf(a).cost() <= latencyStatsRegistry.statsOf(b).cost() ? a : b;
+        }
+
+        latencyStatsRegistry.statsOf(chosen).selected();
+        return new DefaultResponse(chosen);
+    }
+
+    public String getServiceId() {
+        return serviceId;
+    }
+}
@@ -0,0 +1,35 @@
+package com.infnet.loadbalancer;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cloud.loadbalancer.annotation.LoadBalancerClients;
+import org.springframework.context.annotation.Bean;
+
+import java.time.Duration;
+
+/**
+ * Troca o round-robin padrão pelo {@link LatencyAwareLoadBalancer} em todos os serviços
+ * balanceados da aplicação. Desligue com {@code latency-loadbalancer.enabled=false}.
+ */
+@AutoConfiguration
+@ConditionalOnProperty(value = "latency-loadbalancer.enabled", matchIfMissing = true)
+@LoadBalancerClients(defaultConfiguration = LatencyLoadBalancerConfiguration.class)
+public class LatencyLoadBalancerAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public LatencyStatsRegistry latencyStatsRegistry(ObjectProvider<MeterRegistry> meterRegistry,
+                                                     @Value("${latency-loadbalancer.initial-latency:100ms}") Duration initialLatency,
+                                                     @Value("${latency-loadbalancer.decay:10s}") Duration decay) {
+        return new LatencyStatsRegistry(meterRegistry.getIfAvailable(), System::nanoTime, initialLatency, decay);
+    }
+
+    @Bean
+    public LatencyRecordingLifecycle latencyRecordingLifecycle(LatencyStatsRegistry latencyStatsRegistry) {
+        return new LatencyRecordingLifecycle(latencyStatsRegistry);
+    }
+}
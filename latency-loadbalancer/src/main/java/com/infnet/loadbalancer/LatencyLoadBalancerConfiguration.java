@@ -0,0 +1,32 @@
+package com.infnet.loadbalancer;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.loadbalancer.core.NoopServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.core.ReactorLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.env.Environment;
+
+import java.util.Random;
+
+/**
+ * Configuração aplicada ao contexto de cada serviço balanceado. Não deve ser encontrada pelo
+ * component scan: é registrada por {@link LatencyLoadBalancerAutoConfiguration}.
+ */
+public class LatencyLoadBalancerConfiguration {
+
+    @Bean
+    public ReactorLoadBalancer<ServiceInstance> latencyAwareLoadBalancer(Environment environment,
+                                                                         LoadBalancerClientFactory loadBalancerClientFactory,
+                                                                         LatencyStatsRegistry latencyStatsRegistry) {
+        String serviceId = environment.getProperty(LoadBalancerClientFactory.PROPERTY_NAME);
+        ObjectProvider<ServiceInstanceListSupplier> suppliers = loadBalancerClientFactory.getLazyProvider(serviceId, ServiceInstanceListSupplier.class);
+
+        return new LatencyAwareLoadBalancer(serviceId,
+                () -> suppliers.getIfAvailable(NoopServiceInstanceListSupplier::new),
+                latencyStatsRegistry,
+                new Random());
+    }
+}
@@ -0,0 +1,56 @@
+package com.infnet.loadbalancer;
+
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.CompletionContext;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerLifecycle;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.client.loadbalancer.TimedRequestContext;
+
+/**
+ * Mede a duração de cada requisição balanceada e alimenta o {@link LatencyStatsRegistry}.
+ * É chamado tanto pelo filtro {@code lb://} do gateway quanto pelos clientes Feign.
+ * Requisições com erro também contam, para que timeouts afastem o tráfego da instância.
+ */
+public class LatencyRecordingLifecycle implements LoadBalancerLifecycle<Object, Object, ServiceInstance> {
+    private final LatencyStatsRegistry latencyStatsRegistry;
+
+    public LatencyRecordingLifecycle(LatencyStatsRegistry latencyStatsRegistry) {
+        this.latencyStatsRegistry = latencyStatsRegistry;
+    }
+
+    @Override
+    public boolean supports(Class requestContextClass, Class responseClass, Class serverTypeClass) {
+        return ServiceInstance.class.isAssignableFrom(serverTypeClass);
+    }
+
+    @Override
+    public void onStart(Request<Object> request) {
+    }
+
+    @Override
+    public void onStartRequest(Request<Object> request, Response<ServiceInstance> lbResponse) {
+        if (request.getContext() instanceof TimedRequestContext context) {
+            context.setRequestStartTime(latencyStatsRegistry.nanoTime());
+        }
+        if (lbResponse.hasServer()) {
+            latencyStatsRegistry.onStart(lbResponse.getServer());
+        }
+    }
+
+    @Override
+    public void onComplete(CompletionContext<Object, ServiceInstance, Object> completionContext) {
+        Response<ServiceInstance> lbResponse = completionContext.getLoadBalancerResponse();
+        if (completionContext.status() == CompletionContext.Status.DISCARD || lbResponse == null || !lbResponse.hasServer()) {
+            return;
+        }
+
+        long latencyNanos = -1;
+        Request<Object> request = completionContext.getLoadBalancerRequest();
+        if (request != null && request.getContext() instanceof TimedRequestContext context && context.getRequestStartTime() > 0) {
+            latencyNanos = latencyStatsRegistry.nanoTime() - context.getRequestStartTime();
+        }
+
+        latencyStatsRegistry.onComplete(lbResponse.getServer(), latencyNanos);
+    }
+}
@@ -0,0 +1,74 @@
+package com.infnet.loadbalancer;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.cloud.client.ServiceInstance;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Estatísticas de latência por instância, compartilhadas entre o balanceador de cada serviço
+ * e o {@link LatencyRecordingLifecycle} que as alimenta.
+ */
+public class LatencyStatsRegistry {
+    private final Map<String, InstanceLatencyStats> stats = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+    private final LongSupplier nanoClock;
+    private final long initialLatencyNanos;
+    private final long decayNanos;
+
+    public LatencyStatsRegistry(MeterRegistry meterRegistry, LongSupplier nanoClock, Duration initialLatency, Duration decay) {
+        this.meterRegistry = meterRegistry;
+        this.nanoClock = nanoClock;
+        this.initialLatencyNanos = initialLatency.toNanos();
+        this.decayNanos = Math.max(1, decay.toNanos());
+    }
+
+    public InstanceLatencyStats statsOf(ServiceInstance instance) {
+        return stats.computeIfAbsent(keyOf(instance), key -> create(instance));
+    }
+
+    public void onStart(ServiceInstance instance) {
+        statsOf(instance).start();
+    }
+
+    public void onComplete(ServiceInstance instance, long latencyNanos) {
+        statsOf(instance).complete(latencyNanos, nanoTime());
+    }
+
+    public long nanoTime() {
+        return nanoClock.getAsLong();
+    }
+
+    private InstanceLatencyStats create(ServiceInstance instance) {
+        InstanceLatencyStats instanceStats = new InstanceLatencyStats(initialLatencyNanos, decayNanos, this::nanoTime);
+
+        if (meterRegistry != null) {
+            Tags tags = Tags.of("service", String.valueOf(instance.getServiceId()), "instance", instance.getHost() + ":" + instance.getPort());
+            Gauge.builder("loadbalancer.instance.latency", instanceStats, InstanceLatencyStats::latencyMillis)
+                    .description("Latência média móvel da instância")
+                    .baseUnit("milliseconds")
+                    .tags(tags)
+                    .register(meterRegistry);
+            Gauge.builder("loadbalancer.instance.outstanding", instanceStats, InstanceLatencyStats::outstanding)
+                    .description("Requisições em andamento na instância")
+                    .tags(tags)
+                    .register(meterRegistry);
+            FunctionCounter.builder("loadbalancer.instance.selected", instanceStats, InstanceLatencyStats::selections)
+                    .description("Vezes em que a instância foi escolhida")
+                    .tags(tags)
+                    .register(meterRegistry);
+        }
+
+        return instanceStats;
+    }
+
+    private static String keyOf(ServiceInstance instance) {
+        return instance.getServiceId() + "/" + instance.getHost() + ":" + instance.getPort();
+    }
+}
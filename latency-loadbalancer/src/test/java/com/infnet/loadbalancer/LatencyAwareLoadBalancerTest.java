@@ -0,0 +1,108 @@
+package com.infnet.loadbalancer;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.DefaultRequest;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.loadbalancer.support.ServiceInstanceListSuppliers;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LatencyAwareLoadBalancerTest {
+    private static final String SERVICE_ID = "PROJECT-SERVICE";
+
+    private final ServiceInstance fast = instance("fast", 8081);
+    private final ServiceInstance slow = instance("slow", 8082);
+    private final ServiceInstance medium = instance("medium", 8083);
+
+    private AtomicLong clock;
+    private LatencyStatsRegistry registry;
+    private LatencyAwareLoadBalancer loadBalancer;
+
+    @BeforeEach
+    void setUp() {
+        clock = new AtomicLong(1_000_000_000L);
+        registry = new LatencyStatsRegistry(null, clock::get, Duration.ofMillis(100), Duration.ofSeconds(10));
+        loadBalancer = new LatencyAwareLoadBalancer(SERVICE_ID,
+                () -> ServiceInstanceListSuppliers.from(SERVICE_ID, fast, slow, medium),
+                registry,
+                new Random(42));
+    }
+
+    @Test
+    @DisplayName("Deve nunca escolher a instância mais lenta quando há outras")
+    void slowestNeverChosenTest() {
+        record(fast, 10);
+        record(medium, 50);
+        record(slow, 2_000);
+
+        for (int i = 0; i < 1_000; i++) {
+            assertThat(choose().getServer()).isNotEqualTo(slow);
+        }
+        assertThat(registry.statsOf(fast).selections()).isGreaterThan(registry.statsOf(medium).selections());
+    }
+
+    @Test
+    @DisplayName("Deve desviar de instâncias com muitas requisições em andamento")
+    void outstandingRequestsTest() {
+        record(fast, 10);
+        record(slow, 10);
+        for (int i = 0; i < 5; i++) {
+            registry.onStart(fast);
+        }
+
+        Response<ServiceInstance> response = loadBalancer.choose(List.of(fast, slow));
+
+        assertThat(response.getServer()).isEqualTo(slow);
+    }
+
+    @Test
+    @DisplayName("Deve voltar a testar a instância depois de um pico mesmo sem amostras novas dela")
+    void latencyDecayTest() {
+        record(fast, 20);
+        record(slow, 2_000);
+        assertThat(loadBalancer.choose(List.of(fast, slow)).getServer()).isEqualTo(fast);
+
+        /* Só o balanceador decide quem recebe amostras; a instância lenta não é alimentada à mão */
+        ServiceInstance chosen = fast;
+        for (int i = 0; i < 120 && chosen.equals(fast); i++) {
+            clock.addAndGet(Duration.ofSeconds(1).toNanos());
+            chosen = loadBalancer.choose(List.of(fast, slow)).getServer();
+            record(chosen, 20);
+        }
+
+        assertThat(chosen).isEqualTo(slow);
+        assertThat(registry.statsOf(slow).latencyMillis()).isLessThan(100);
+    }
+
+    @Test
+    @DisplayName("Deve responder sem instância quando a lista está vazia")
+    void emptyInstancesTest() {
+        assertThat(loadBalancer.choose(List.of()).hasServer()).isFalse();
+        assertThat(loadBalancer.choose(List.of(medium)).getServer()).isEqualTo(medium);
+    }
+
+    private Response<ServiceInstance> choose() {
+        return loadBalancer.choose(new DefaultRequest<>()).block();
+    }
+
+    private void record(ServiceInstance instance, long latencyMillis) {
+        long latencyNanos = Duration.ofMillis(latencyMillis).toNanos();
+
+        registry.onStart(instance);
+        clock.addAndGet(latencyNanos);
+        registry.onComplete(instance, latencyNanos);
+    }
+
+    private static ServiceInstance instance(String host, int port) {
+        return new DefaultServiceInstance(host + "-" + port, SERVICE_ID, host, port, false);
+    }
+}
@@ -0,0 +1,18 @@
+package com.infnet.search;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class NameMatch {
+    private Long id;
+
+    private String name;
+
+    private Double score;
+}
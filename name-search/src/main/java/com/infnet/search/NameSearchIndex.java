@@ -0,0 +1,147 @@
+package com.infnet.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Índice em memória de trigramas dos nomes, usado na busca por prefixo e aproximada.
+ *
+ * <p>Cada palavra do nome é indexada com dois espaços à esquerda e um à direita, e a
+ * consulta só com os espaços à esquerda: assim todo trigrama de um prefixo aparece no
+ * nome completo, e erros de digitação ainda compartilham a maior parte dos trigramas.
+ * Escritas são serializadas; leituras não usam lock.
+ *
+ * <p>Compartilhado entre task-service e project-service, que só alteram o índice depois do
+ * commit para que a busca nunca devolva nomes de uma transação desfeita.
+ */
+public class NameSearchIndex {
+    private static final Comparator<NameMatch> BY_SCORE = Comparator.comparingDouble(NameMatch::getScore);
+
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+    private final Map<String, Set<Long>> postings = new ConcurrentHashMap<>();
+
+    public synchronized void put(Long id, String name) {
+        remove(id);
+        if (name == null) {
+            return;
+        }
+
+        String normalized = normalize(name);
+        Set<String> grams = trigrams(normalized, true);
+
+        entries.put(id, new Entry(name, normalized, grams.size()));
+        for (String gram : grams) {
+            postings.computeIfAbsent(gram, key -> ConcurrentHashMap.newKeySet()).add(id);
+        }
+    }
+
+    public synchronized void remove(Long id) {
+        Entry entry = entries.remove(id);
+        if (entry == null) {
+            return;
+        }
+
+        for (String gram : trigrams(entry.normalized(), true)) {
+            Set<Long> ids = postings.get(gram);
+            if (ids != null) {
+                ids.remove(id);
+                if (ids.isEmpty()) {
+                    postings.remove(gram);
+                }
+            }
+        }
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        postings.clear();
+    }
+
+    public List<NameMatch> search(String query, int limit) {
+        String normalized = normalize(query);
+        Set<String> queryGrams = trigrams(normalized, false);
+        if (queryGrams.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, Integer> shared = new HashMap<>();
+        for (String gram : queryGrams) {
+            Set<Long> ids = postings.get(gram);
+            if (ids != null) {
+                ids.forEach(id -> shared.merge(id, 1, Integer::sum));
+            }
+        }
+
+        PriorityQueue<NameMatch> top = new PriorityQueue<>(limit + 1, BY_SCORE);
+        shared.forEach((id, count) -> {
+            Entry entry = entries.get(id);
+            /* Exige ao menos metade dos trigramas da consulta para tolerar erros sem trazer ruído */
+            if (entry == null || count * 2 < queryGrams.size()) {
+                return;
+            }
+
+            double score = (double) count / (queryGrams.size() + entry.grams() - count);
+            if (entry.normalized().equals(normalized)) {
+                score += 2;
+            } else if (entry.normalized().startsWith(normalized)) {
+                score += 1;
+            } else if (entry.normalized().contains(" " + normalized)) {
+                score += 0.5;
+            }
+
+            top.add(new NameMatch(id, entry.name(), score));
+            if (top.size() > limit) {
+                top.poll();
+            }
+        });
+
+        List<NameMatch> matches = new ArrayList<>(top);
+        matches.sort(BY_SCORE.reversed());
+
+        return matches;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    static String normalize(String value) {
+        if (value == null) {
+            return "";
+        }
+
+        return Normalizer.normalize(value, Normalizer.Form.NFD)
+                .replaceAll("\\p{M}", "")
+                .toLowerCase(Locale.ROOT)
+                .replaceAll("[^\\p{Alnum}]+", " ")
+                .trim();
+    }
+
+    private static Set<String> trigrams(String normalized, boolean padEnd) {
+        Set<String> grams = new HashSet<>();
+        if (normalized.isEmpty()) {
+            return grams;
+        }
+
+        for (String word : normalized.split(" ")) {
+            String padded = "  " + word + (padEnd ? " " : "");
+            for (int i = 0; i + 3 <= padded.length(); i++) {
+                grams.add(padded.substring(i, i + 3));
+            }
+        }
+
+        return grams;
+    }
+
+    private record Entry(String name, String normalized, int grams) {
+    }
+}
@@ -0,0 +1,39 @@
+package com.infnet.search;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NameSearchIndexTest {
+    private final NameSearchIndex index = new NameSearchIndex();
+
+    @Test
+    @DisplayName("Deve encontrar nomes por prefixo, sem acento e com erro de digitação")
+    void searchTest() {
+        index.put(1L, "Implantação do sistema");
+        index.put(2L, "Migração de dados");
+
+        assertThat(index.search("impla", 5)).extracting(NameMatch::getId).containsExactly(1L);
+        assertThat(index.search("implantasao", 5)).extracting(NameMatch::getId).startsWith(1L);
+        assertThat(index.search("MIGRACAO", 5)).extracting(NameMatch::getId).containsExactly(2L);
+    }
+
+    @Test
+    @DisplayName("Deve deixar de encontrar o nome antigo após renomear ou remover")
+    void putAndRemoveTest() {
+        index.put(1L, "Projeto Alfa");
+        index.put(1L, "Projeto Beta");
+
+        assertThat(index.search("alfa", 5)).isEmpty();
+        assertThat(index.search("beta", 5)).extracting(NameMatch::getName).containsExactly("Projeto Beta");
+
+        index.remove(1L);
+
+        List<NameMatch> matches = index.search("projeto", 5);
+        assertThat(matches).isEmpty();
+        assertThat(index.size()).isZero();
+    }
+}
@@ -0,0 +1,142 @@
+package com.infnet.projectservice.config;
+
+import org.springframework.amqp.core.Binding;
+import org.springframework.amqp.core.Declarable;
+import org.springframework.amqp.core.Declarables;
+import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.DirectExchange;
+import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.core.QueueBuilder;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.amqp.SimpleRabbitListenerContainerFactoryConfigurer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+@Configuration
+public class RabbitConfig {
+    public static final String TASK_EXCHANGE = "task-exc";
+    public static final String TASK_QUEUE = "task-queue";
+    public static final String TASK_ROUTING_KEY = "task-rk";
+    public static final String TASK_DELETED_QUEUE = "task-deleted-queue";
+    public static final String TASK_DELETED_ROUTING_KEY = "task-deleted-rk";
+    public static final String TASK_UPDATED_QUEUE = "task-updated-queue";
+    public static final String TASK_UPDATED_ROUTING_KEY = "task-updated-rk";
+    public static final String BATCH_LISTENER_FACTORY = "batchListenerContainerFactory";
+    public static final String TASK_PARKING_LOT_QUEUE = "task-parking-lot";
+    public static final String PROJECT_EXCHANGE = "project-exc";
+    public static final String PROJECT_CHANGED_ROUTING_KEY = "project-changed-rk";
+    public static final String PROJECT_CHANGED_QUEUE = "project-changed-queue";
+
+    /* Espera de cada nível de retentativa; o nível n é a fila task-retry-n, task-deleted-retry-n, task-updated-retry-n ou project-changed-retry-n. Os valores devem ser os mesmos de compose/definitions.json */
+    public static final long[] RETRY_DELAYS_MS = { 1_000L, 5_000L, 25_000L };
+
+    /* Cada fila consumida tem seus próprios níveis, que devolvem a mensagem para ela mesma */
+    private static final Map<String, String> RETRY_QUEUE_PREFIXES = Map.of(
+            TASK_QUEUE, "task-retry-",
+            TASK_DELETED_QUEUE, "task-deleted-retry-",
+            TASK_UPDATED_QUEUE, "task-updated-retry-",
+            PROJECT_CHANGED_QUEUE, "project-changed-retry-");
+
+    public static String retryQueue(String queue, int tier) {
+        String prefix = queue == null ? null : RETRY_QUEUE_PREFIXES.get(queue);
+
+        return (prefix != null ? prefix : RETRY_QUEUE_PREFIXES.get(TASK_QUEUE)) + tier;
+    }
+
+    /* Entrega até batch-size mensagens por chamada, ou o que chegou até receive-timeout sem novas mensagens */
+    @Bean(BATCH_LISTENER_FACTORY)
+    public SimpleRabbitListenerContainerFactory batchListenerContainerFactory(SimpleRabbitListenerContainerFactoryConfigurer configurer,
+                                                                              ConnectionFactory connectionFactory,
+                                                                              @Value("${project.consumer.batch-size:200}") int batchSize,
+                                                                              @Value("${project.consumer.receive-timeout:200ms}") Duration receiveTimeout) {
+        SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
+        configurer.configure(factory, connectionFactory);
+        factory.setBatchListener(true);
+        factory.setConsumerBatchEnabled(true);
+        factory.setBatchSize(batchSize);
+        factory.setPrefetchCount(batchSize);
+        factory.setReceiveTimeout(receiveTimeout.toMillis());
+
+        return factory;
+    }
+
+    @Bean
+    public DirectExchange taskExchange() {
+        return new DirectExchange(TASK_EXCHANGE);
+    }
+
+    @Bean
+    public Queue taskQueue() {
+        return new Queue(TASK_QUEUE);
+    }
+
+    @Bean
+    public Binding taskBinding(Queue taskQueue, DirectExchange taskExchange) {
+        return BindingBuilder.bind(taskQueue).to(taskExchange).with(TASK_ROUTING_KEY);
+    }
+
+    /* Mensagens expiram na fila de retentativa e voltam para a fila de origem pela exchange padrão */
+    @Bean
+    public Declarables taskRetryQueues() {
+        List<Declarable> queues = new ArrayList<>(RETRY_QUEUE_PREFIXES.size() * RETRY_DELAYS_MS.length);
+        for (String queue : RETRY_QUEUE_PREFIXES.keySet()) {
+            for (int tier = 1; tier <= RETRY_DELAYS_MS.length; tier++) {
+                queues.add(QueueBuilder.durable(retryQueue(queue, tier))
+                        .ttl((int) RETRY_DELAYS_MS[tier - 1])
+                        .deadLetterExchange("")
+                        .deadLetterRoutingKey(queue)
+                        .build());
+            }
+        }
+
+        return new Declarables(queues);
+    }
+
+    @Bean
+    public Queue taskParkingLotQueue() {
+        return new Queue(TASK_PARKING_LOT_QUEUE);
+    }
+
+    @Bean
+    public Queue taskDeletedQueue() {
+        return new Queue(TASK_DELETED_QUEUE);
+    }
+
+    @Bean
+    public Binding taskDeletedBinding(Queue taskDeletedQueue, DirectExchange taskExchange) {
+        return BindingBuilder.bind(taskDeletedQueue).to(taskExchange).with(TASK_DELETED_ROUTING_KEY);
+    }
+
+    @Bean
+    public Queue taskUpdatedQueue() {
+        return new Queue(TASK_UPDATED_QUEUE);
+    }
+
+    @Bean
+    public Binding taskUpdatedBinding(Queue taskUpdatedQueue, DirectExchange taskExchange) {
+        return BindingBuilder.bind(taskUpdatedQueue).to(taskExchange).with(TASK_UPDATED_ROUTING_KEY);
+    }
+
+    @Bean
+    public DirectExchange projectExchange() {
+        return new DirectExchange(PROJECT_EXCHANGE);
+    }
+
+    /* Fila própria do project-service; o task-service declara a sua ligada à mesma routing key */
+    @Bean
+    public Queue projectChangedQueue() {
+        return new Queue(PROJECT_CHANGED_QUEUE);
+    }
+
+    @Bean
+    public Binding projectChangedBinding(Queue projectChangedQueue, DirectExchange projectExchange) {
+        return BindingBuilder.bind(projectChangedQueue).to(projectExchange).with(PROJECT_CHANGED_ROUTING_KEY);
+    }
+}
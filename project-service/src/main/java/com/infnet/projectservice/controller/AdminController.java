@@ -0,0 +1,52 @@
+package com.infnet.projectservice.controller;
+
+import com.infnet.projectservice.rabbitMq.TaskRetryRouter;
+import com.infnet.projectservice.service.ProjectTotalsService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RequiredArgsConstructor
+@RestController
+@RequestMapping("/api/projects/admin")
+@Tag(name = "Administração", description = "Operações administrativas do serviço de projetos")
+public class AdminController {
+    private final TaskRetryRouter taskRetryRouter;
+    private final ProjectTotalsService projectTotalsService;
+
+    @Operation(summary = "Reprocessa mensagens do parking lot", description = "Devolve até limit mensagens do parking lot para a fila de origem")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Mensagens devolvidas com sucesso", content = @Content(mediaType = "application/json")),
+            @ApiResponse(responseCode = "400", description = "Erro ao devolver as mensagens", content = @Content)
+    })
+    @PostMapping("/parking-lot/replay")
+    public ResponseEntity<?> replayParked(@RequestParam(defaultValue = "1000") Integer limit) {
+        try {
+            return new ResponseEntity<>(Map.of("replayed", taskRetryRouter.replayParked(limit)), HttpStatus.OK);
+        } catch (Exception e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    @Operation(summary = "Recalcula os totais dos projetos", description = "Recalcula em paralelo progresso, custo total e horas estimadas de todos os projetos a partir das tarefas")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Totais recalculados com sucesso", content = @Content(mediaType = "application/json")),
+            @ApiResponse(responseCode = "400", description = "Erro ao recalcular os totais", content = @Content)
+    })
+    @PostMapping("/totals/recompute")
+    public ResponseEntity<?> recomputeTotals() {
+        try {
+            return new ResponseEntity<>(Map.of("projects", projectTotalsService.recompute()), HttpStatus.OK);
+        } catch (Exception e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+        }
+    }
+}
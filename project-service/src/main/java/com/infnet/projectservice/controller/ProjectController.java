@@ -1,7 +1,11 @@
 package com.infnet.projectservice.controller;
 
+import com.infnet.projectservice.model.GraphNode;
 import com.infnet.projectservice.model.Project;
+import com.infnet.projectservice.model.ProjectDetail;
+import com.infnet.projectservice.model.ProjectSummary;
 import com.infnet.projectservice.service.ProjectService;
+import com.infnet.search.NameMatch;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -13,6 +17,8 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 @RequiredArgsConstructor
 @RestController
 @RequestMapping("/api/projects")
@@ -21,10 +27,10 @@ public class ProjectController {
 
     final ProjectService projectService;
 
-    @Operation(summary = "Busca todos os projetos", description = "Retorna a lista de todos os projetos cadastrados")
+    @Operation(summary = "Busca todos os projetos", description = "Retorna o resumo de todos os projetos cadastrados, com a quantidade de tarefas de cada um")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Lista de projetos encontrada com sucesso",
-                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = Project.class))),
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ProjectSummary.class))),
             @ApiResponse(responseCode = "400", description = "Erro na busca dos projetos", content = @Content)
     })
     @GetMapping
@@ -39,7 +45,7 @@ public class ProjectController {
     @Operation(summary = "Busca o projeto pelo ID", description = "Busca um projeto pelo seu ID")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Projeto encontrado com sucesso",
-                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = Project.class))),
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ProjectDetail.class))),
             @ApiResponse(responseCode = "400", description = "Erro na busca do projeto", content = @Content)
     })
     @GetMapping("/{id}")
@@ -51,10 +57,40 @@ public class ProjectController {
         }
     }
 
-    @Operation(summary = "Busca projetos pelo nome", description = "Busca todos os projetos que correspondem ao nome fornecido")
+    @Operation(summary = "Busca vários projetos pelo ID", description = "Retorna o resumo dos projetos informados em ids; IDs inexistentes são omitidos")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Projetos encontrados com sucesso",
-                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = Project.class))),
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ProjectSummary.class))),
+            @ApiResponse(responseCode = "400", description = "Erro na busca dos projetos", content = @Content)
+    })
+    @GetMapping("/batch")
+    public ResponseEntity<?> findAllById(@RequestParam List<Long> ids) {
+        try {
+            return new ResponseEntity<>(projectService.findAllById(ids), HttpStatus.OK);
+        } catch (Exception e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    @Operation(summary = "Busca vários projetos pelo ID no corpo", description = "Igual ao GET /batch, para listas de IDs grandes demais para a URL")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Projetos encontrados com sucesso",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ProjectSummary.class))),
+            @ApiResponse(responseCode = "400", description = "Erro na busca dos projetos", content = @Content)
+    })
+    @PostMapping("/batch")
+    public ResponseEntity<?> findAllByIdInBody(@RequestBody List<Long> ids) {
+        try {
+            return new ResponseEntity<>(projectService.findAllById(ids), HttpStatus.OK);
+        } catch (Exception e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    @Operation(summary = "Busca projetos pelo nome", description = "Busca o resumo de todos os projetos que correspondem ao nome fornecido")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Projetos encontrados com sucesso",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ProjectSummary.class))),
             @ApiResponse(responseCode = "400", description = "Erro na busca dos projetos", content = @Content)
     })
     @GetMapping("/name/{name}")
@@ -66,7 +102,38 @@ public class ProjectController {
         }
     }
 
-    @Operation(summary = "Cria um novo projeto", description = "Cria um novo projeto")
+    @Operation(summary = "Busca as tarefas de um projeto", description = "Retorna uma página das tarefas do projeto, ordenadas por ID")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Tarefas encontradas com sucesso", content = @Content(mediaType = "application/json")),
+            @ApiResponse(responseCode = "400", description = "Erro na busca das tarefas", content = @Content)
+    })
+    @GetMapping("/{id}/tasks")
+    public ResponseEntity<?> findTasks(@PathVariable Long id,
+                                       @RequestParam(required = false) Integer page,
+                                       @RequestParam(required = false) Integer size) {
+        try {
+            return new ResponseEntity<>(projectService.findTasks(id, page, size), HttpStatus.OK);
+        } catch (Exception e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    @Operation(summary = "Pesquisa projetos pelo nome", description = "Busca por prefixo e aproximada no nome dos projetos, ordenada por relevância")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Pesquisa realizada com sucesso",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = NameMatch.class))),
+            @ApiResponse(responseCode = "400", description = "Erro na pesquisa dos projetos", content = @Content)
+    })
+    @GetMapping("/search")
+    public ResponseEntity<?> search(@RequestParam("q") String query, @RequestParam(required = false) Integer limit) {
+        try {
+            return new ResponseEntity<>(projectService.search(query, limit), HttpStatus.OK);
+        } catch (Exception e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    @Operation(summary = "Cria um novo projeto", description = "Cria um novo projeto; progress, totalCost e estimatedHours começam zerados e são calculados a partir das tarefas")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Projeto criado com sucesso",
                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = Project.class))),
@@ -81,11 +148,11 @@ public class ProjectController {
         }
     }
 
-    @Operation(summary = "Atualiza um projeto existente", description = "Atualiza as informações de um projeto pelo seu ID")
+    @Operation(summary = "Atualiza um projeto existente", description = "Atualiza as informações de um projeto pelo seu ID; progress, totalCost, estimatedHours, taskCount e completedTaskCount são somente leitura e ignorados")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Projeto atualizado com sucesso",
-                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = Project.class))),
-            @ApiResponse(responseCode = "400", description = "Erro na atualização do projeto", content = @Content)
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ProjectSummary.class))),
+            @ApiResponse(responseCode = "400", description = "Erro na atualização do projeto, ou campos calculados a partir das tarefas informados", content = @Content)
     })
     @PutMapping("/{id}")
     public ResponseEntity<?> update(@PathVariable Long id, @RequestBody Project project) {
@@ -96,6 +163,21 @@ public class ProjectController {
         }
     }
 
+    @Operation(summary = "Atualiza parcialmente um projeto", description = "Altera apenas os campos informados do projeto pelo seu ID; progress, totalCost, estimatedHours, taskCount e completedTaskCount são somente leitura e ignorados")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Projeto atualizado com sucesso",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ProjectSummary.class))),
+            @ApiResponse(responseCode = "400", description = "Erro na atualização do projeto", content = @Content)
+    })
+    @PatchMapping("/{id}")
+    public ResponseEntity<?> patch(@PathVariable Long id, @RequestBody Project project) {
+        try {
+            return new ResponseEntity<>(projectService.update(id, project), HttpStatus.OK);
+        } catch (Exception e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+        }
+    }
+
     @Operation(summary = "Deleta um projeto", description = "Remove um projeto pelo seu ID")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Projeto deletado com sucesso",
@@ -125,4 +207,79 @@ public class ProjectController {
             return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
         }
     }
+
+    @Operation(summary = "Busca projetos relacionados", description = "Retorna os projetos alcançáveis a partir do projeto em até depth relações")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Projetos relacionados encontrados com sucesso",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = GraphNode.class))),
+            @ApiResponse(responseCode = "400", description = "Erro na busca dos projetos relacionados", content = @Content)
+    })
+    @GetMapping("/{id}/related")
+    public ResponseEntity<?> findRelated(@PathVariable Long id, @RequestParam(required = false) Integer depth) {
+        try {
+            return new ResponseEntity<>(projectService.findRelated(id, depth), HttpStatus.OK);
+        } catch (Exception e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    @Operation(summary = "Busca o menor caminho entre projetos", description = "Retorna a menor sequência de relações do projeto até o projeto de destino, ou lista vazia se não houver")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Caminho calculado com sucesso",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = GraphNode.class))),
+            @ApiResponse(responseCode = "400", description = "Erro no cálculo do caminho", content = @Content)
+    })
+    @GetMapping("/{id}/path/{targetId}")
+    public ResponseEntity<?> findPath(@PathVariable Long id, @PathVariable Long targetId) {
+        try {
+            return new ResponseEntity<>(projectService.findPath(id, targetId), HttpStatus.OK);
+        } catch (Exception e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    @Operation(summary = "Busca o componente do projeto", description = "Retorna todos os projetos ligados ao projeto, direta ou indiretamente, em qualquer direção")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Componente encontrado com sucesso",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = GraphNode.class))),
+            @ApiResponse(responseCode = "400", description = "Erro na busca do componente", content = @Content)
+    })
+    @GetMapping("/{id}/component")
+    public ResponseEntity<?> findComponent(@PathVariable Long id) {
+        try {
+            return new ResponseEntity<>(projectService.findComponent(id), HttpStatus.OK);
+        } catch (Exception e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    @Operation(summary = "Detecta ciclo de relações", description = "Retorna o menor ciclo de relações que passa pelo projeto, ou lista vazia se não houver")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Verificação realizada com sucesso",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = GraphNode.class))),
+            @ApiResponse(responseCode = "400", description = "Erro na verificação de ciclos", content = @Content)
+    })
+    @GetMapping("/{id}/cycle")
+    public ResponseEntity<?> findCycle(@PathVariable Long id) {
+        try {
+            return new ResponseEntity<>(projectService.findCycle(id), HttpStatus.OK);
+        } catch (Exception e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    @Operation(summary = "Remove relação entre projetos", description = "Remove a relação do projeto com o projeto relacionado informado")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Relação removida com sucesso",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = Project.class))),
+            @ApiResponse(responseCode = "400", description = "Erro ao remover a relação", content = @Content)
+    })
+    @DeleteMapping("{id}/relatedProject/{relatedProjectId}")
+    public ResponseEntity<?> removeRelatedProject(@PathVariable Long id, @PathVariable Long relatedProjectId) {
+        try {
+            return new ResponseEntity<>(projectService.removeRelatedProject(id, relatedProjectId), HttpStatus.OK);
+        } catch (Exception e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+        }
+    }
 }
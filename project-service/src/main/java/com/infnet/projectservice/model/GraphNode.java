@@ -0,0 +1,19 @@
+package com.infnet.projectservice.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class GraphNode {
+    private Long id;
+
+    private String name;
+
+    /* Distância, em relações, a partir do projeto consultado */
+    private Integer depth;
+}
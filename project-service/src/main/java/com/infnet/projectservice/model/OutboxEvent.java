@@ -0,0 +1,50 @@
+package com.infnet.projectservice.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Entity
+@Table(name = "\"outbox_event\"")
+public class OutboxEvent {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "outbox_event_seq")
+    @SequenceGenerator(name = "outbox_event_seq", sequenceName = "outbox_event_seq", allocationSize = 50)
+    private Long id;
+
+    /* Enviado como message-id; um UUID não se repete mesmo se a sequência da outbox recomeçar */
+    @Column(name = "event_id", unique = true, updatable = false, length = 36)
+    private String eventId;
+
+    @Column(name = "aggregate_id")
+    private Long aggregateId;
+
+    @Column(name = "routing_key")
+    private String routingKey;
+
+    @Lob
+    private byte[] payload;
+
+    @Column(name = "content_type")
+    private String contentType;
+
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    void prePersist() {
+        if (this.eventId == null) {
+            this.eventId = UUID.randomUUID().toString();
+        }
+        this.createdAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,36 @@
+package com.infnet.projectservice.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Registro de um evento de tarefa já aplicado. As restrições de unicidade garantem que
+ * a mesma mensagem, ou outra mensagem da mesma tarefa, não seja aplicada duas vezes.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Entity
+@Table(name = "\"processed_event\"")
+public class ProcessedEvent {
+    @Id
+    @Column(name = "event_id")
+    private String eventId;
+
+    @Column(name = "task_id", unique = true)
+    private Long taskId;
+
+    @Column(name = "processed_at", updatable = false)
+    private LocalDateTime processedAt;
+
+    @PrePersist
+    void processedAt() {
+        this.processedAt = LocalDateTime.now();
+    }
+}
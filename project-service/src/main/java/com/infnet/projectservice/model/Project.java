@@ -19,7 +19,7 @@ import java.util.List;
 @NoArgsConstructor
 @Builder
 @Entity
-@Table(name = "\"project\"")
+@Table(name = "\"project\"", indexes = @Index(name = "idx_project_name", columnList = "name"))
 public class Project {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -33,12 +33,11 @@ public class Project {
     @Size(min = 5, message = "Descrição deve ter pelo menos 5 caracteres")
     private String description;
 
+    /* progress, totalCost e estimatedHours são derivados apenas das tarefas: começam zerados e são somente leitura para o cliente */
     private Integer progress;
 
-    @NotNull(message = "Custo total é obrigatório")
     private Float totalCost;
 
-    @NotNull(message = "Horas estimadas é obrigatório")
     @Column(name = "estimated_hours")
     private Integer estimatedHours;
 
@@ -52,6 +51,13 @@ public class Project {
     @NotNull(message = "Ativo é obrigatório, insira 0 ou 1")
     private Boolean active;
 
+    /* Contadores usados para manter progress, totalCost e estimatedHours a partir das tarefas recebidas */
+    @Column(name = "task_count")
+    private Integer taskCount;
+
+    @Column(name = "completed_task_count")
+    private Integer completedTaskCount;
+
     @Column(name = "created_at", updatable = false)
     public LocalDateTime createdAt;
 
@@ -61,6 +67,11 @@ public class Project {
     @PrePersist
     void createdAt() {
         this.createdAt = this.updatedAt = LocalDateTime.now();
+        this.taskCount = 0;
+        this.completedTaskCount = 0;
+        this.progress = 0;
+        this.totalCost = 0f;
+        this.estimatedHours = 0;
     }
 
     @PreUpdate
@@ -68,7 +79,8 @@ public class Project {
         this.updatedAt = LocalDateTime.now();
     }
 
-    @OneToMany(cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.EAGER)
+    @OneToMany(cascade = CascadeType.ALL, orphanRemoval = true)
+    @JoinTable(name = "project_tasks", joinColumns = @JoinColumn(name = "project_id"), inverseJoinColumns = @JoinColumn(name = "tasks_id"))
     private List<Task> tasks = new ArrayList<>();
 
     @Column(name = "related_projects")
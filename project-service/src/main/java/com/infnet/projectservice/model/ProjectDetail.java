@@ -0,0 +1,138 @@
+package com.infnet.projectservice.model;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Projeto com tarefas e projetos relacionados, montado a partir das entidades e sem ligação
+ * com a sessão JPA. Os campos e as listas são imutáveis, então a mesma instância pode ser
+ * guardada no cache e entregue a várias requisições ao mesmo tempo.
+ */
+@Value
+@Builder
+public class ProjectDetail {
+    Long id;
+
+    String name;
+
+    String description;
+
+    Integer progress;
+
+    Float totalCost;
+
+    Integer estimatedHours;
+
+    Float budget;
+
+    String client;
+
+    String clientAddress;
+
+    Boolean active;
+
+    Integer taskCount;
+
+    Integer completedTaskCount;
+
+    LocalDateTime createdAt;
+
+    LocalDateTime updatedAt;
+
+    List<TaskDetail> tasks;
+
+    List<RelatedProjectDetail> relatedProjects;
+
+    public static ProjectDetail of(Project project) {
+        return ProjectDetail.builder()
+                .id(project.getId())
+                .name(project.getName())
+                .description(project.getDescription())
+                .progress(project.getProgress())
+                .totalCost(project.getTotalCost())
+                .estimatedHours(project.getEstimatedHours())
+                .budget(project.getBudget())
+                .client(project.getClient())
+                .clientAddress(project.getClientAddress())
+                .active(project.getActive())
+                .taskCount(project.getTaskCount())
+                .completedTaskCount(project.getCompletedTaskCount())
+                .createdAt(project.getCreatedAt())
+                .updatedAt(project.getUpdatedAt())
+                .tasks(project.getTasks().stream().map(TaskDetail::of).toList())
+                .relatedProjects(project.getRelatedProjects().stream().map(RelatedProjectDetail::of).toList())
+                .build();
+    }
+
+    @Value
+    @Builder
+    public static class TaskDetail {
+        Long id;
+
+        Long taskId;
+
+        String name;
+
+        String description;
+
+        String observation;
+
+        Float hourlyRate;
+
+        Float budget;
+
+        Integer estimatedHours;
+
+        Boolean active;
+
+        Long projectId;
+
+        LocalDateTime sourceUpdatedAt;
+
+        LocalDateTime createdAt;
+
+        LocalDateTime updatedAt;
+
+        static TaskDetail of(Task task) {
+            return TaskDetail.builder()
+                    .id(task.getId())
+                    .taskId(task.getTaskId())
+                    .name(task.getName())
+                    .description(task.getDescription())
+                    .observation(task.getObservation())
+                    .hourlyRate(task.getHourlyRate())
+                    .budget(task.getBudget())
+                    .estimatedHours(task.getEstimatedHours())
+                    .active(task.getActive())
+                    .projectId(task.getProjectId())
+                    .sourceUpdatedAt(task.getSourceUpdatedAt())
+                    .createdAt(task.getCreatedAt())
+                    .updatedAt(task.getUpdatedAt())
+                    .build();
+        }
+    }
+
+    @Value
+    @Builder
+    public static class RelatedProjectDetail {
+        Long id;
+
+        Long projectId;
+
+        String name;
+
+        LocalDateTime nameChangedAt;
+
+        static RelatedProjectDetail of(RelatedProject relatedProject) {
+            return RelatedProjectDetail.builder()
+                    .id(relatedProject.getId())
+                    .projectId(relatedProject.getProjectId())
+                    .name(relatedProject.getName())
+                    .nameChangedAt(relatedProject.getNameChangedAt())
+                    .build();
+        }
+    }
+}
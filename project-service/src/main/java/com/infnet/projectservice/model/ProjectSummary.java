@@ -0,0 +1,44 @@
+package com.infnet.projectservice.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Campos escalares do projeto e a quantidade de tarefas, lidos sem carregar as coleções
+ * de tarefas e projetos relacionados.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class ProjectSummary {
+    private Long id;
+
+    private String name;
+
+    private String description;
+
+    private Integer progress;
+
+    private Float totalCost;
+
+    private Integer estimatedHours;
+
+    private Float budget;
+
+    private String client;
+
+    private String clientAddress;
+
+    private Boolean active;
+
+    private LocalDateTime createdAt;
+
+    private LocalDateTime updatedAt;
+
+    private Integer taskCount;
+}
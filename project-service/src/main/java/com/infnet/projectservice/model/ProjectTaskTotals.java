@@ -0,0 +1,62 @@
+package com.infnet.projectservice.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Totais derivados das tarefas de um projeto. Usado tanto como valor absoluto, no recálculo,
+ * quanto como delta somado às colunas do projeto quando tarefas chegam ou são excluídas.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class ProjectTaskTotals {
+    private Long projectId;
+
+    private Long taskCount;
+
+    /* Tarefas inativas são tratadas como concluídas */
+    private Long completedTaskCount;
+
+    /* Soma de hourlyRate * estimatedHours */
+    private Double totalCost;
+
+    private Long estimatedHours;
+
+    public static ProjectTaskTotals of(Long projectId, List<Task> tasks) {
+        ProjectTaskTotals totals = new ProjectTaskTotals(projectId, 0L, 0L, 0d, 0L);
+
+        for (Task task : tasks) {
+            int hours = task.getEstimatedHours() == null ? 0 : task.getEstimatedHours();
+            float rate = task.getHourlyRate() == null ? 0f : task.getHourlyRate();
+
+            totals.taskCount++;
+            totals.completedTaskCount += Boolean.FALSE.equals(task.getActive()) ? 1 : 0;
+            totals.totalCost += (double) rate * hours;
+            totals.estimatedHours += hours;
+        }
+
+        return totals;
+    }
+
+    public ProjectTaskTotals plus(ProjectTaskTotals other) {
+        return new ProjectTaskTotals(projectId,
+                taskCount + other.taskCount,
+                completedTaskCount + other.completedTaskCount,
+                totalCost + other.totalCost,
+                estimatedHours + other.estimatedHours);
+    }
+
+    public ProjectTaskTotals negate() {
+        return new ProjectTaskTotals(projectId, -taskCount, -completedTaskCount, -totalCost, -estimatedHours);
+    }
+
+    public int progress() {
+        return taskCount > 0 ? (int) (completedTaskCount * 100 / taskCount) : 0;
+    }
+}
@@ -8,6 +8,8 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.LocalDateTime;
+
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
@@ -26,6 +28,10 @@ public class RelatedProject {
     @NotBlank(message = "Nome é obrigatório")
     private String name;
 
+    /* Data da renomeação que gerou name; renomeações mais antigas são ignoradas */
+    @Column(name = "name_changed_at")
+    private LocalDateTime nameChangedAt;
+
     @Builder
     public RelatedProject(Long projectId, String name) {
         this.projectId = projectId;
@@ -1,5 +1,6 @@
 package com.infnet.projectservice.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -19,9 +20,19 @@ import java.time.LocalDateTime;
 @Table(name = "\"task\"")
 public class Task {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "task_seq")
+    @SequenceGenerator(name = "task_seq", sequenceName = "task_seq", allocationSize = 50)
     private Long id;
 
+    /* ID da tarefa no task-service, usado para deduplicar e excluir a cópia local */
+    @Column(name = "task_id", unique = true)
+    private Long taskId;
+
+    /* ID da mensagem que trouxe a tarefa; usado apenas para deduplicar a entrega */
+    @Transient
+    @JsonIgnore
+    private String eventId;
+
     @NotBlank(message = "Nome é obrigatório")
     @Size(min = 3, message = "Nome deve ter pelo menos 3 caracteres")
     private String name;
@@ -50,6 +61,10 @@ public class Task {
     @Column(name = "project_id")
     private Long projectId;
 
+    /* updatedAt da tarefa no task-service; atualizações mais antigas que a cópia são ignoradas */
+    @Column(name = "source_updated_at")
+    private LocalDateTime sourceUpdatedAt;
+
     @Column(name = "created_at", updatable = false)
     public LocalDateTime createdAt;
 
@@ -0,0 +1,70 @@
+package com.infnet.projectservice.rabbitMq;
+
+import com.infnet.projectservice.model.OutboxEvent;
+import com.infnet.projectservice.repository.OutboxEventRepository;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Drena a outbox do project-service para o RabbitMQ, em ordem de ID. Um evento só sai da
+ * outbox depois de confirmado pelo broker; no primeiro evento não confirmado o ciclo para,
+ * para que as renomeações de um projeto não sejam publicadas fora de ordem.
+ */
+@Log4j2
+@Component
+public class OutboxRelay {
+    private final OutboxEventRepository outboxEventRepository;
+    private final ProjectProducer projectProducer;
+    private final int batchSize;
+    private final Duration confirmTimeout;
+
+    public OutboxRelay(OutboxEventRepository outboxEventRepository,
+                       ProjectProducer projectProducer,
+                       @Value("${project.outbox.batch-size:200}") int batchSize,
+                       @Value("${project.outbox.confirm-timeout:5s}") Duration confirmTimeout) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.projectProducer = projectProducer;
+        this.batchSize = batchSize;
+        this.confirmTimeout = confirmTimeout;
+    }
+
+    @Scheduled(fixedDelayString = "${project.outbox.poll-interval-ms:500}")
+    public void relay() {
+        List<OutboxEvent> batch = outboxEventRepository.findPending(Limit.of(batchSize));
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        List<CompletableFuture<Void>> confirms = batch.stream().map(projectProducer::send).toList();
+
+        List<Long> confirmed = new ArrayList<>(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            try {
+                confirms.get(i).get(confirmTimeout.toMillis(), TimeUnit.MILLISECONDS);
+                confirmed.add(batch.get(i).getId());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (ExecutionException | TimeoutException e) {
+                log.warn("Evento {} permanece na outbox: {}", batch.get(i).getId(), e.getMessage());
+                break;
+            }
+        }
+        outboxEventRepository.deleteAllByIdInBatch(confirmed);
+
+        if (!confirmed.isEmpty()) {
+            log.info("{} eventos da outbox publicados.", confirmed.size());
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.infnet.projectservice.rabbitMq;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.infnet.events.ProjectChangedEvent;
+import com.infnet.projectservice.config.RabbitConfig;
+import com.infnet.projectservice.service.ProjectService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+@Log4j2
+@Component
+@RequiredArgsConstructor
+public class ProjectConsumer {
+    private final ProjectService projectService;
+    private final TaskRetryRouter taskRetryRouter;
+    private final ObjectMapper objectMapper;
+
+    /* Falhas do banco passam pelos níveis de retentativa antes do parking lot;
+       a renomeação é idempotente e eventos antigos não sobrescrevem um nome mais novo */
+    @RabbitListener(queues = { RabbitConfig.PROJECT_CHANGED_QUEUE })
+    public void receiveChanged(Message message) {
+        ProjectChangedEvent event;
+        try {
+            event = objectMapper.readValue(message.getBody(), ProjectChangedEvent.class);
+        } catch (IOException e) {
+            taskRetryRouter.park(message, "Mensagem de projeto inválida: " + e.getMessage());
+            return;
+        }
+
+        if (event.projectId() == null || event.name() == null || event.updatedAt() == null) {
+            taskRetryRouter.park(message, "Evento de projeto sem ID, nome ou data");
+            return;
+        }
+
+        try {
+            int renamed = projectService.renameRelatedProjects(event.projectId(), event.name(), event.updatedAt());
+            log.info("{} relações atualizadas com o novo nome do projeto {}.", renamed, event.projectId());
+        } catch (Exception e) {
+            taskRetryRouter.retry(message, String.valueOf(e.getMessage()));
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.infnet.projectservice.rabbitMq;
+
+import com.infnet.projectservice.model.Task;
+import com.infnet.projectservice.service.ProjectService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Distribui as tarefas recebidas entre lanes de uma única thread, escolhidas por hash
+ * consistente do projectId. Um projeto sempre cai na mesma lane, então suas tarefas são
+ * aplicadas em ordem e sem disputa pela mesma linha; projetos diferentes seguem em paralelo.
+ */
+@Log4j2
+@Component
+public class ProjectLanes {
+    private final ProjectService projectService;
+    private final List<ThreadPoolExecutor> lanes;
+
+    public ProjectLanes(ProjectService projectService,
+                        MeterRegistry meterRegistry,
+                        @Value("${project.consumer.lanes:0}") int laneCount) {
+        this.projectService = projectService;
+
+        int count = laneCount > 0 ? laneCount : Runtime.getRuntime().availableProcessors();
+        this.lanes = new ArrayList<>(count);
+        for (int lane = 0; lane < count; lane++) {
+            ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>());
+            lanes.add(executor);
+
+            Gauge.builder("project.consumer.lane.depth", executor, e -> e.getQueue().size() + e.getActiveCount())
+                    .description("Lotes aguardando ou em execução na lane")
+                    .tag("lane", String.valueOf(lane))
+                    .register(meterRegistry);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        lanes.forEach(ThreadPoolExecutor::shutdown);
+    }
+
+    /* Aguarda todas as lanes antes de retornar, para que o lote só seja confirmado após todos os commits.
+       Retorna o motivo da falha de cada projeto que não pôde ser aplicado */
+    public Map<Long, String> dispatch(Map<Long, List<Task>> tasksByProject) throws InterruptedException {
+        List<Map<Long, List<Task>>> partitions = new ArrayList<>(lanes.size());
+        for (int lane = 0; lane < lanes.size(); lane++) {
+            partitions.add(new LinkedHashMap<>());
+        }
+        tasksByProject.forEach((projectId, tasks) -> partitions.get(laneOf(projectId, lanes.size())).put(projectId, tasks));
+
+        List<Future<Map<Long, String>>> results = new ArrayList<>(lanes.size());
+        for (int lane = 0; lane < lanes.size(); lane++) {
+            Map<Long, List<Task>> partition = partitions.get(lane);
+            if (!partition.isEmpty()) {
+                results.add(lanes.get(lane).submit(() -> apply(partition)));
+            }
+        }
+
+        Map<Long, String> failures = new HashMap<>();
+        for (Future<Map<Long, String>> result : results) {
+            try {
+                failures.putAll(result.get());
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Erro: Falha inesperada na lane", e.getCause());
+            }
+        }
+
+        return failures;
+    }
+
+    /* Se a transação da lane falhar, reaplica projeto a projeto para que só o projeto com problema fique de fora */
+    private Map<Long, String> apply(Map<Long, List<Task>> partition) {
+        Map<Long, String> failures = new HashMap<>();
+
+        try {
+            projectService.addTasks(partition).forEach(projectId -> failures.put(projectId, "Projeto não encontrado " + projectId));
+        } catch (Exception e) {
+            if (partition.size() == 1) {
+                partition.keySet().forEach(projectId -> failures.put(projectId, String.valueOf(e.getMessage())));
+            } else {
+                log.warn("Falha ao aplicar {} projetos juntos, aplicando um a um: {}", partition.size(), e.getMessage());
+                partition.forEach((projectId, tasks) -> failures.putAll(apply(Map.of(projectId, tasks))));
+            }
+        }
+
+        return failures;
+    }
+
+    /* Jump consistent hash (Lamping e Veach): ao mudar o número de lanes, só ~1/n dos projetos trocam de lane */
+    static int laneOf(long key, int buckets) {
+        long bucket = -1;
+        long next = 0;
+
+        while (next < buckets) {
+            bucket = next;
+            key = key * 2862933555777941757L + 1;
+            next = (long) ((bucket + 1) * ((double) (1L << 31) / (double) ((key >>> 33) + 1)));
+        }
+
+        return (int) bucket;
+    }
+}
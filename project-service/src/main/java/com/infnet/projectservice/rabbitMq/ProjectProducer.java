@@ -0,0 +1,74 @@
+package com.infnet.projectservice.rabbitMq;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.infnet.events.EventContentTypes;
+import com.infnet.events.ProjectChangedEvent;
+import com.infnet.projectservice.config.RabbitConfig;
+import com.infnet.projectservice.model.OutboxEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Publica a renomeação de um projeto para os serviços que guardam cópias do nome. O evento
+ * é gravado na outbox na mesma transação da renomeação e enviado pelo {@link OutboxRelay},
+ * então nenhum consumidor vê um nome revertido e nenhuma renomeação gravada se perde.
+ */
+@Log4j2
+@Component
+@RequiredArgsConstructor
+public class ProjectProducer {
+    private final RabbitTemplate rabbitTemplate;
+    private final ObjectMapper objectMapper;
+
+    /* updatedAt é a versão do nome: os consumidores ignoram renomeações mais antigas que a cópia */
+    public OutboxEvent toRenamedEvent(Long projectId, String name) {
+        ProjectChangedEvent event = new ProjectChangedEvent(projectId, name, LocalDateTime.now());
+
+        try {
+            return OutboxEvent.builder()
+                    .aggregateId(projectId)
+                    .routingKey(RabbitConfig.PROJECT_CHANGED_ROUTING_KEY)
+                    .payload(objectMapper.writeValueAsBytes(event))
+                    .contentType(EventContentTypes.JSON)
+                    .build();
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Erro: Falha ao serializar a renomeação do projeto " + projectId, e);
+        }
+    }
+
+    /* Completa quando o broker confirma a mensagem; nack, mensagem sem rota ou erro de envio completam com falha */
+    public CompletableFuture<Void> send(OutboxEvent event) {
+        CorrelationData correlation = new CorrelationData(event.getEventId());
+        CompletableFuture<Void> result = correlation.getFuture().thenAccept(confirm -> {
+            if (!confirm.isAck()) {
+                throw new AmqpException("nack: " + confirm.getReason());
+            }
+            if (correlation.getReturned() != null) {
+                throw new AmqpException("mensagem sem rota: " + correlation.getReturned().getReplyText());
+            }
+        });
+
+        try {
+            MessageProperties properties = new MessageProperties();
+            properties.setContentType(event.getContentType());
+            properties.setMessageId(event.getEventId());
+
+            rabbitTemplate.send(RabbitConfig.PROJECT_EXCHANGE, event.getRoutingKey(),
+                    new Message(event.getPayload(), properties), correlation);
+        } catch (AmqpException e) {
+            correlation.getFuture().completeExceptionally(e);
+        }
+
+        return result;
+    }
+}
@@ -1,44 +1,146 @@
 package com.infnet.projectservice.rabbitMq;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.infnet.projectservice.model.Project;
-import com.infnet.projectservice.model.RelatedProject;
+import com.infnet.events.EventContentTypes;
+import com.infnet.events.TaskEvent;
+import com.infnet.events.TaskEventCodec;
+import com.infnet.events.TasksDeletedEvent;
+import com.infnet.projectservice.config.RabbitConfig;
 import com.infnet.projectservice.model.Task;
 import com.infnet.projectservice.service.ProjectService;
-import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
+import org.springframework.amqp.core.Message;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
-import org.springframework.messaging.handler.annotation.Payload;
 import org.springframework.stereotype.Component;
 
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 @Log4j2
 @Component
 @RequiredArgsConstructor
 public class TaskConsumer {
     private final ProjectService projectService;
+    private final ProjectLanes projectLanes;
+    private final TaskRetryRouter taskRetryRouter;
     private final ObjectMapper objectMapper;
 
-    @RabbitListener(queues = { "task-queue" })
-    @Transactional
-    public void receive(@Payload String message) throws Exception {
+    /* Cada lane grava sua parte do lote em uma transação; o container só confirma as mensagens após todos os commits.
+       Mensagens que falharam são republicadas nas filas de retentativa antes da confirmação; se a republicação
+       não for confirmada pelo broker, o lote inteiro volta para a fila e as duplicatas são descartadas */
+    @RabbitListener(queues = { RabbitConfig.TASK_QUEUE }, containerFactory = RabbitConfig.BATCH_LISTENER_FACTORY)
+    public void receive(List<Message> messages) throws Exception {
+        log.info("Receptando {} mensagens de tarefas...", messages.size());
+
+        Map<Long, List<Task>> tasksByProject = new LinkedHashMap<>();
+        Map<Long, List<Message>> messagesByProject = new HashMap<>();
+        for (Message message : messages) {
+            Task task;
+            try {
+                task = decode(message);
+            } catch (Exception e) {
+                /* Uma mensagem que não decodifica nunca vai decodificar; não adianta tentar de novo */
+                taskRetryRouter.park(message, "Mensagem de tarefa inválida: " + e.getMessage());
+                continue;
+            }
+
+            if (task.getProjectId() == null || task.getTaskId() == null) {
+                taskRetryRouter.park(message, "Tarefa sem ID do projeto ou da tarefa");
+                continue;
+            }
+            task.setEventId(message.getMessageProperties().getMessageId());
+
+            tasksByProject.computeIfAbsent(task.getProjectId(), projectId -> new ArrayList<>()).add(task);
+            messagesByProject.computeIfAbsent(task.getProjectId(), projectId -> new ArrayList<>()).add(message);
+        }
+
+        if (!tasksByProject.isEmpty()) {
+            Map<Long, String> failures = projectLanes.dispatch(tasksByProject);
+            failures.forEach((projectId, reason) ->
+                    messagesByProject.get(projectId).forEach(message -> taskRetryRouter.retry(message, reason)));
+        }
+    }
+
+    /* Falhas ao remover, como o banco indisponível, passam pelos níveis de retentativa antes do parking lot */
+    @RabbitListener(queues = { RabbitConfig.TASK_DELETED_QUEUE })
+    public void receiveDeleted(Message message) {
+        TasksDeletedEvent event;
+        try {
+            event = objectMapper.readValue(message.getBody(), TasksDeletedEvent.class);
+        } catch (IOException e) {
+            taskRetryRouter.park(message, "Mensagem de exclusão inválida: " + e.getMessage());
+            return;
+        }
+
         try {
-            log.info("Receptando mensagem da tarefa...");
+            log.info("Receptando exclusão de {} tarefas...", event.taskIds().size());
+
+            int removed = projectService.removeTasks(event.taskIds());
 
-            Task task = objectMapper.readValue(message, Task.class);
-            Long actProjectId = task.getProjectId();
+            log.info("{} tarefas removidas dos projetos.", removed);
+        } catch (Exception e) {
+            taskRetryRouter.retry(message, String.valueOf(e.getMessage()));
+        }
+    }
 
-            Project actProject = projectService.findById(actProjectId)
-                    .orElseThrow(() -> new IllegalArgumentException("Projeto não encontrado " + actProjectId));
+    @RabbitListener(queues = { RabbitConfig.TASK_UPDATED_QUEUE })
+    public void receiveUpdated(Message message) {
+        Task task;
+        try {
+            task = decode(message);
+        } catch (IOException e) {
+            taskRetryRouter.park(message, "Mensagem de atualização inválida: " + e.getMessage());
+            return;
+        }
 
-            projectService.addTask(actProject.getId(), task);
+        /* Tarefas sem projeto nunca tiveram cópia aqui */
+        if (task.getProjectId() == null || task.getTaskId() == null) {
+            log.info("Atualização da tarefa {} sem projeto ignorada.", task.getTaskId());
+            return;
+        }
 
-            log.info("Mensagem recebida com sucesso.");
+        try {
+            if (projectService.updateTask(task)) {
+                log.info("Tarefa {} atualizada no projeto {}.", task.getTaskId(), task.getProjectId());
+            }
         } catch (Exception e) {
-            log.error("Erro: " + e.getMessage());
-            e.printStackTrace();
+            taskRetryRouter.retry(message, String.valueOf(e.getMessage()));
         }
     }
+
+    /* Mensagens sem content type binário são tratadas como JSON, formato usado antes do codec */
+    private Task decode(Message message) throws IOException {
+        if (EventContentTypes.TASK_EVENT_BINARY.equals(message.getMessageProperties().getContentType())) {
+            return toTask(TaskEventCodec.decode(message.getBody()));
+        }
+
+        Task task = objectMapper.readValue(message.getBody(), Task.class);
+        task.setTaskId(task.getId());
+        task.setId(null);
+        task.setSourceUpdatedAt(task.getUpdatedAt());
+
+        return task;
+    }
+
+    private Task toTask(TaskEvent event) {
+        return Task.builder()
+                .taskId(event.id())
+                .name(event.name())
+                .description(event.description())
+                .observation(event.observation())
+                .hourlyRate(event.hourlyRate())
+                .budget(event.budget())
+                .estimatedHours(event.estimatedHours())
+                .active(event.active())
+                .projectId(event.projectId())
+                .createdAt(event.createdAt())
+                .updatedAt(event.updatedAt())
+                .sourceUpdatedAt(event.updatedAt())
+                .build();
+    }
 }
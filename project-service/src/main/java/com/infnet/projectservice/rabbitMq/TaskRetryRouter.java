@@ -0,0 +1,153 @@
+package com.infnet.projectservice.rabbitMq;
+
+import com.infnet.projectservice.config.RabbitConfig;
+import com.rabbitmq.client.GetResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.rabbit.support.DefaultMessagePropertiesConverter;
+import org.springframework.amqp.rabbit.support.MessagePropertiesConverter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Encaminha mensagens que falharam para as filas de retentativa, com espera crescente a cada
+ * nível, e depois para o parking lot. A mensagem original é confirmada, então uma mensagem
+ * com problema nunca volta imediatamente para a frente da fila principal.
+ *
+ * <p>Cada envio espera o publisher confirm do broker. Se o envio não for confirmado, uma
+ * {@link AmqpException} é lançada e a mensagem original volta para a fila em vez de ser
+ * confirmada e perdida.
+ */
+@Log4j2
+@Component
+public class TaskRetryRouter {
+    static final String RETRY_COUNT_HEADER = "x-retry-count";
+    static final String FAILURE_REASON_HEADER = "x-failure-reason";
+    static final String ORIGINAL_QUEUE_HEADER = "x-original-queue";
+
+    private static final MessagePropertiesConverter PROPERTIES_CONVERTER = new DefaultMessagePropertiesConverter();
+
+    private final RabbitTemplate rabbitTemplate;
+    private final Duration confirmTimeout;
+    private final Counter retried;
+    private final Counter parked;
+
+    public TaskRetryRouter(RabbitTemplate rabbitTemplate,
+                           MeterRegistry meterRegistry,
+                           @Value("${project.consumer.confirm-timeout:5s}") Duration confirmTimeout) {
+        this.rabbitTemplate = rabbitTemplate;
+        this.confirmTimeout = confirmTimeout;
+        this.retried = Counter.builder("project.consumer.retried")
+                .description("Mensagens enviadas para uma fila de retentativa")
+                .register(meterRegistry);
+        this.parked = Counter.builder("project.consumer.parked")
+                .description("Mensagens enviadas para o parking lot")
+                .register(meterRegistry);
+    }
+
+    public void retry(Message message, String reason) {
+        MessageProperties properties = message.getMessageProperties();
+        Integer attempts = properties.getHeader(RETRY_COUNT_HEADER);
+        int tier = (attempts == null ? 0 : attempts) + 1;
+
+        if (tier > RabbitConfig.RETRY_DELAYS_MS.length) {
+            park(message, reason);
+            return;
+        }
+
+        properties.setHeader(RETRY_COUNT_HEADER, tier);
+        properties.setHeader(FAILURE_REASON_HEADER, reason);
+        sendConfirmed(RabbitConfig.retryQueue(properties.getConsumerQueue(), tier), message);
+        retried.increment();
+
+        log.warn("Mensagem {} enviada para retentativa {} em {} ms: {}",
+                properties.getMessageId(), tier, RabbitConfig.RETRY_DELAYS_MS[tier - 1], reason);
+    }
+
+    public void park(Message message, String reason) {
+        MessageProperties properties = message.getMessageProperties();
+        if (properties.getHeader(ORIGINAL_QUEUE_HEADER) == null) {
+            properties.setHeader(ORIGINAL_QUEUE_HEADER, properties.getConsumerQueue());
+        }
+        properties.setHeader(FAILURE_REASON_HEADER, reason);
+
+        sendConfirmed(RabbitConfig.TASK_PARKING_LOT_QUEUE, message);
+        parked.increment();
+
+        log.error("Erro: Mensagem {} enviada para o parking lot: {}", properties.getMessageId(), reason);
+    }
+
+    private void sendConfirmed(String queue, Message message) {
+        CorrelationData correlation = new CorrelationData(UUID.randomUUID().toString());
+        rabbitTemplate.send("", queue, message, correlation);
+
+        CorrelationData.Confirm confirm;
+        try {
+            confirm = correlation.getFuture().get(confirmTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AmqpException("Envio para " + queue + " interrompido", e);
+        } catch (ExecutionException | TimeoutException e) {
+            throw new AmqpException("Envio para " + queue + " não confirmado", e);
+        }
+
+        if (!confirm.isAck()) {
+            throw new AmqpException("Envio para " + queue + " recusado pelo broker: " + confirm.getReason());
+        }
+        if (correlation.getReturned() != null) {
+            throw new AmqpException("Envio para " + queue + " sem rota: " + correlation.getReturned().getReplyText());
+        }
+    }
+
+    /* Devolve até limit mensagens do parking lot para a fila de origem, com o contador de tentativas zerado.
+       Cada mensagem só é confirmada no parking lot depois que o broker confirma a republicação; se ela for
+       recusada, sem rota ou sem confirmação no prazo, a mensagem volta para o parking lot e a exceção é lançada.
+       Uma duplicata é descartada pelo consumidor */
+    public int replayParked(int limit) {
+        int replayed = Objects.requireNonNull(rabbitTemplate.execute(channel -> {
+            int count = 0;
+
+            while (count < limit) {
+                GetResponse response = channel.basicGet(RabbitConfig.TASK_PARKING_LOT_QUEUE, false);
+                if (response == null) {
+                    break;
+                }
+
+                MessageProperties properties = PROPERTIES_CONVERTER.toMessageProperties(
+                        response.getProps(), response.getEnvelope(), StandardCharsets.UTF_8.name());
+                Object queue = properties.getHeaders().remove(ORIGINAL_QUEUE_HEADER);
+                properties.getHeaders().remove(RETRY_COUNT_HEADER);
+                properties.getHeaders().remove(FAILURE_REASON_HEADER);
+
+                try {
+                    sendConfirmed(queue != null ? queue.toString() : RabbitConfig.TASK_QUEUE,
+                            new Message(response.getBody(), properties));
+                } catch (AmqpException e) {
+                    channel.basicNack(response.getEnvelope().getDeliveryTag(), false, true);
+                    throw e;
+                }
+                channel.basicAck(response.getEnvelope().getDeliveryTag(), false);
+                count++;
+            }
+
+            return count;
+        }));
+
+        log.info("{} mensagens devolvidas do parking lot.", replayed);
+        return replayed;
+    }
+}
@@ -0,0 +1,17 @@
+package com.infnet.projectservice.repository;
+
+import com.infnet.projectservice.model.ProcessedEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface ProcessedEventRepository extends JpaRepository<ProcessedEvent, String> {
+    @Query("SELECT p FROM ProcessedEvent p WHERE p.eventId IN :eventIds OR p.taskId IN :taskIds")
+    List<ProcessedEvent> findProcessed(@Param("eventIds") Collection<String> eventIds, @Param("taskIds") Collection<Long> taskIds);
+
+    @Query("SELECT p.taskId FROM ProcessedEvent p WHERE p.taskId IN :taskIds")
+    List<Long> findProcessedTaskIds(@Param("taskIds") Collection<Long> taskIds);
+}
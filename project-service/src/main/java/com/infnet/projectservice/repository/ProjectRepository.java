@@ -1,13 +1,112 @@
 package com.infnet.projectservice.repository;
 
 import com.infnet.projectservice.model.Project;
+import com.infnet.projectservice.model.ProjectSummary;
+import com.infnet.projectservice.model.ProjectTaskTotals;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
-public interface ProjectRepository extends JpaRepository<Project, Long> {
+public interface ProjectRepository extends JpaRepository<Project, Long>, ProjectRepositoryCustom {
     @Query("SELECT u FROM Project u WHERE u.name = :name")
     List<Project> findByName(@Param("name") String name);
+
+    @Query("SELECT new com.infnet.projectservice.model.ProjectSummary(u.id, u.name, u.description, u.progress, " +
+            "u.totalCost, u.estimatedHours, u.budget, u.client, u.clientAddress, u.active, u.createdAt, u.updatedAt, u.taskCount) " +
+            "FROM Project u WHERE u.id = :id")
+    Optional<ProjectSummary> findSummaryById(@Param("id") Long id);
+
+    @Query("SELECT new com.infnet.projectservice.model.ProjectSummary(u.id, u.name, u.description, u.progress, " +
+            "u.totalCost, u.estimatedHours, u.budget, u.client, u.clientAddress, u.active, u.createdAt, u.updatedAt, u.taskCount) " +
+            "FROM Project u ORDER BY u.id")
+    List<ProjectSummary> findAllSummaries();
+
+    @Query("SELECT new com.infnet.projectservice.model.ProjectSummary(u.id, u.name, u.description, u.progress, " +
+            "u.totalCost, u.estimatedHours, u.budget, u.client, u.clientAddress, u.active, u.createdAt, u.updatedAt, u.taskCount) " +
+            "FROM Project u WHERE u.name = :name ORDER BY u.id")
+    List<ProjectSummary> findSummariesByName(@Param("name") String name);
+
+    @Query("SELECT new com.infnet.projectservice.model.ProjectSummary(u.id, u.name, u.description, u.progress, " +
+            "u.totalCost, u.estimatedHours, u.budget, u.client, u.clientAddress, u.active, u.createdAt, u.updatedAt, u.taskCount) " +
+            "FROM Project u WHERE u.id IN :ids ORDER BY u.id")
+    List<ProjectSummary> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+
+    /* Projetos relacionados e tarefas são duas listas; buscá-las na mesma consulta geraria um produto cartesiano */
+    @EntityGraph(attributePaths = "relatedProjects")
+    @Query("SELECT u FROM Project u WHERE u.id = :id")
+    Optional<Project> findDetailById(@Param("id") Long id);
+
+    @Query("SELECT u FROM Project u LEFT JOIN FETCH u.tasks WHERE u.id = :id")
+    Optional<Project> fetchTasksById(@Param("id") Long id);
+
+    @Query("SELECT u.id FROM Project u WHERE u.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT u.id AS id, u.name AS name FROM Project u")
+    List<ProjectName> findAllNames();
+
+    @Modifying
+    @Query("UPDATE Project u SET u.taskCount = u.taskCount + :taskCount, " +
+            "u.completedTaskCount = u.completedTaskCount + :completed, " +
+            "u.totalCost = u.totalCost + :cost, u.estimatedHours = u.estimatedHours + :hours, " +
+            "u.progress = CASE WHEN u.taskCount + :taskCount > 0 " +
+            "THEN (u.completedTaskCount + :completed) * 100 / (u.taskCount + :taskCount) ELSE 0 END " +
+            "WHERE u.id = :id")
+    int addTaskTotals(@Param("id") Long id,
+                      @Param("taskCount") Integer taskCount,
+                      @Param("completed") Integer completed,
+                      @Param("cost") Float cost,
+                      @Param("hours") Integer hours);
+
+    @Modifying
+    @Query("UPDATE Project u SET u.taskCount = :taskCount, u.completedTaskCount = :completed, " +
+            "u.totalCost = :cost, u.estimatedHours = :hours, u.progress = :progress WHERE u.id = :id")
+    int setTaskTotals(@Param("id") Long id,
+                      @Param("taskCount") Integer taskCount,
+                      @Param("completed") Integer completed,
+                      @Param("cost") Float cost,
+                      @Param("hours") Integer hours,
+                      @Param("progress") Integer progress);
+
+    /* Trava as linhas da lane para que nenhum delta seja somado entre a leitura e a escrita do recálculo */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT u.id FROM Project u WHERE MOD(u.id, :lanes) = :lane ORDER BY u.id")
+    List<Long> lockIdsByLane(@Param("lanes") int lanes, @Param("lane") int lane);
+
+    @Query("SELECT new com.infnet.projectservice.model.ProjectTaskTotals(u.id, COUNT(t), " +
+            "COALESCE(SUM(CASE WHEN t.active = false THEN 1L ELSE 0L END), 0L), " +
+            "COALESCE(SUM(t.hourlyRate * t.estimatedHours), 0.0), COALESCE(SUM(t.estimatedHours * 1L), 0L)) " +
+            "FROM Project u LEFT JOIN u.tasks t WHERE MOD(u.id, :lanes) = :lane GROUP BY u.id")
+    List<ProjectTaskTotals> sumTaskTotalsByLane(@Param("lanes") int lanes, @Param("lane") int lane);
+
+    @Query("SELECT new com.infnet.projectservice.model.ProjectTaskTotals(u.id, COUNT(t), " +
+            "COALESCE(SUM(CASE WHEN t.active = false THEN 1L ELSE 0L END), 0L), " +
+            "COALESCE(SUM(t.hourlyRate * t.estimatedHours), 0.0), COALESCE(SUM(t.estimatedHours * 1L), 0L)) " +
+            "FROM Project u JOIN u.tasks t WHERE t.taskId IN :taskIds GROUP BY u.id")
+    List<ProjectTaskTotals> sumTaskTotalsByTaskIds(@Param("taskIds") Collection<Long> taskIds);
+
+    /* Relações cujo projeto de destino ainda existe */
+    @Query("SELECT p.id AS projectId, r.projectId AS relatedProjectId FROM Project p JOIN p.relatedProjects r " +
+            "WHERE r.projectId IN (SELECT t.id FROM Project t)")
+    List<ProjectRelation> findAllRelations();
+
+    interface ProjectRelation {
+        Long getProjectId();
+
+        Long getRelatedProjectId();
+    }
+
+    interface ProjectName {
+        Long getId();
+
+        String getName();
+    }
 }
@@ -0,0 +1,12 @@
+package com.infnet.projectservice.repository;
+
+import com.infnet.projectservice.model.Project;
+
+public interface ProjectRepositoryCustom {
+    /**
+     * Atualiza em um único UPDATE apenas os campos não nulos de {@code changes}.
+     *
+     * @return quantidade de linhas alteradas (0 quando o projeto não existe)
+     */
+    int updateNonNullFields(Long id, Project changes);
+}
@@ -0,0 +1,46 @@
+package com.infnet.projectservice.repository;
+
+import com.infnet.projectservice.model.Project;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Root;
+
+import java.time.LocalDateTime;
+
+public class ProjectRepositoryCustomImpl implements ProjectRepositoryCustom {
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public int updateNonNullFields(Long id, Project changes) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<Project> update = builder.createCriteriaUpdate(Project.class);
+        Root<Project> project = update.from(Project.class);
+
+        if (changes.getName() != null) {
+            update.set("name", changes.getName());
+        }
+        if (changes.getDescription() != null) {
+            update.set("description", changes.getDescription());
+        }
+        /* progress, totalCost e estimatedHours são derivados das tarefas; são somente leitura e ignorados aqui, como na criação */
+        if (changes.getBudget() != null) {
+            update.set("budget", changes.getBudget());
+        }
+        if (changes.getClient() != null) {
+            update.set("client", changes.getClient());
+        }
+        if (changes.getClientAddress() != null) {
+            update.set("clientAddress", changes.getClientAddress());
+        }
+        if (changes.getActive() != null) {
+            update.set("active", changes.getActive());
+        }
+        update.set("updatedAt", LocalDateTime.now());
+        update.where(builder.equal(project.get("id"), id));
+
+        return entityManager.createQuery(update).executeUpdate();
+    }
+}
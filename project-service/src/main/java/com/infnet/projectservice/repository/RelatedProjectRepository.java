@@ -2,5 +2,22 @@ package com.infnet.projectservice.repository;
 
 import com.infnet.projectservice.model.RelatedProject;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
-public interface RelatedProjectRepository extends JpaRepository<RelatedProject, Long> {}
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface RelatedProjectRepository extends JpaRepository<RelatedProject, Long> {
+    @Query("SELECT p.id FROM Project p JOIN p.relatedProjects r WHERE r.projectId = :projectId")
+    List<Long> findOwnerIdsByProjectId(@Param("projectId") Long projectId);
+
+    /* Só altera as cópias com nome mais antigo que changedAt, então reaplicar o mesmo evento ou um evento antigo não muda nada */
+    @Modifying
+    @Query("UPDATE RelatedProject r SET r.name = :name, r.nameChangedAt = :changedAt WHERE r.projectId = :projectId " +
+            "AND (r.nameChangedAt IS NULL OR r.nameChangedAt < :changedAt)")
+    int renameByProjectId(@Param("projectId") Long projectId,
+                          @Param("name") String name,
+                          @Param("changedAt") LocalDateTime changedAt);
+}
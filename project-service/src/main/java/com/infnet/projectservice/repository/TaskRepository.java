@@ -0,0 +1,33 @@
+package com.infnet.projectservice.repository;
+
+import com.infnet.projectservice.model.Task;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.Optional;
+
+public interface TaskRepository extends JpaRepository<Task, Long> {
+    @Query(value = "SELECT t FROM Project p JOIN p.tasks t WHERE p.id = :projectId ORDER BY t.id",
+            countQuery = "SELECT COUNT(t) FROM Project p JOIN p.tasks t WHERE p.id = :projectId")
+    Page<Task> findByProjectId(@Param("projectId") Long projectId, Pageable pageable);
+
+    Optional<Task> findByTaskId(Long taskId);
+
+    /* Liga as tarefas já gravadas ao projeto sem carregar a coleção Project.tasks */
+    @Modifying
+    @Query(value = "INSERT INTO project_tasks (project_id, tasks_id) SELECT :projectId, id FROM \"task\" WHERE id IN (:taskIds)", nativeQuery = true)
+    int linkToProject(@Param("projectId") Long projectId, @Param("taskIds") Collection<Long> taskIds);
+
+    @Modifying
+    @Query(value = "DELETE FROM project_tasks WHERE tasks_id IN (SELECT id FROM \"task\" WHERE task_id IN (:taskIds))", nativeQuery = true)
+    int deleteProjectLinksByTaskIdIn(@Param("taskIds") Collection<Long> taskIds);
+
+    @Modifying
+    @Query("DELETE FROM Task t WHERE t.taskId IN :taskIds")
+    int deleteAllByTaskIdIn(@Param("taskIds") Collection<Long> taskIds);
+}
@@ -1,25 +1,59 @@
 package com.infnet.projectservice.service;
 
+import com.infnet.projectservice.model.GraphNode;
 import com.infnet.projectservice.model.Project;
+import com.infnet.projectservice.model.ProjectDetail;
+import com.infnet.projectservice.model.ProjectSummary;
 import com.infnet.projectservice.model.Task;
+import com.infnet.search.NameMatch;
+import org.springframework.data.domain.Page;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 public interface ProjectService {
-    List<Project> findAll() throws Exception;
+    List<ProjectSummary> findAll() throws Exception;
 
-    Optional<Project> findById(Long id) throws Exception;
+    Optional<ProjectDetail> findById(Long id) throws Exception;
 
-    List<Project> findByName(String name) throws Exception;
+    List<ProjectSummary> findByName(String name) throws Exception;
+
+    List<ProjectSummary> findAllById(Collection<Long> ids) throws Exception;
+
+    Page<Task> findTasks(Long id, Integer page, Integer size) throws Exception;
+
+    List<NameMatch> search(String query, Integer limit);
 
     Project create(Project project) throws Exception;
 
-    Optional<Project> update(Long id, Project project) throws Exception;
+    Optional<ProjectSummary> update(Long id, Project project) throws Exception;
 
     Optional<Project> delete(Long id) throws Exception;
 
     Optional<Project> addRelatedProject(Long id, Long relatedProjectId) throws Exception;
 
+    Optional<Project> removeRelatedProject(Long id, Long relatedProjectId) throws Exception;
+
+    List<GraphNode> findRelated(Long id, Integer depth) throws Exception;
+
+    List<GraphNode> findPath(Long id, Long targetId) throws Exception;
+
+    List<GraphNode> findComponent(Long id) throws Exception;
+
+    List<GraphNode> findCycle(Long id) throws Exception;
+
     void addTask(Long id, Task task) throws Exception;
+
+    /* Retorna os IDs dos projetos não encontrados, cujas tarefas não foram aplicadas */
+    Set<Long> addTasks(Map<Long, List<Task>> tasksByProject);
+
+    int removeTasks(Collection<Long> taskIds);
+
+    boolean updateTask(Task task);
+
+    int renameRelatedProjects(Long projectId, String name, LocalDateTime changedAt);
 }
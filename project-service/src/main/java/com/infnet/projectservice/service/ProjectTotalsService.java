@@ -0,0 +1,11 @@
+package com.infnet.projectservice.service;
+
+import com.infnet.projectservice.model.ProjectTaskTotals;
+
+import java.util.Collection;
+
+public interface ProjectTotalsService {
+    void apply(Collection<ProjectTaskTotals> deltas);
+
+    int recompute() throws Exception;
+}
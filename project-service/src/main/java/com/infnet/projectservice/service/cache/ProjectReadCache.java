@@ -0,0 +1,107 @@
+package com.infnet.projectservice.service.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.infnet.projectservice.model.ProjectDetail;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import static com.infnet.projectservice.service.support.TransactionCallbacks.afterCommit;
+
+/**
+ * Cache dos projetos lidos por {@code findById}, guardados como {@link ProjectDetail}
+ * imutável, sem ligação com a sessão JPA.
+ *
+ * <p>Cada escrita dá ao projeto uma versão nova, tirada de uma sequência única. A entrada
+ * guarda a versão vista no início da carga e só é servida se ainda for a atual, então uma
+ * carga que leu o banco antes de uma escrita nunca fica no cache depois dela. A invalidação
+ * acontece na escrita e de novo após o commit, cobrindo leituras feitas enquanto a transação
+ * estava aberta. Cargas simultâneas da mesma chave esperam a primeira.
+ *
+ * <p>As versões ficam em um cache limitado. Uma versão descartada eleva o piso usado para os
+ * projetos sem versão guardada, de modo que nenhuma entrada antiga volta a ser considerada atual.
+ */
+@Component
+public class ProjectReadCache {
+    private final Cache<Long, Entry> projects;
+    private final Cache<Long, Long> versions;
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicLong versionFloor = new AtomicLong();
+
+    public ProjectReadCache(MeterRegistry meterRegistry,
+                            @Value("${project.read-cache.max-weight:100000}") long maxWeight,
+                            @Value("${project.read-cache.ttl:10m}") Duration ttl,
+                            @Value("${project.read-cache.max-versions:100000}") long maxVersions) {
+        /* O peso acompanha o tamanho das coleções, para que projetos grandes não ocupem o cache inteiro */
+        this.projects = Caffeine.newBuilder()
+                .maximumWeight(maxWeight)
+                .weigher((Long id, Entry entry) -> 1 + entry.project().getTasks().size() + entry.project().getRelatedProjects().size())
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+
+        this.versions = Caffeine.newBuilder()
+                .maximumSize(maxVersions)
+                .evictionListener((Long id, Long version, RemovalCause cause) ->
+                        versionFloor.accumulateAndGet(version, Math::max))
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, projects, "project-read");
+    }
+
+    public Optional<ProjectDetail> get(Long id, Function<Long, Optional<ProjectDetail>> loader) {
+        Entry entry = projects.get(id, key -> {
+            long version = versionOf(key);
+            return loader.apply(key).map(project -> new Entry(version, project)).orElse(null);
+        });
+
+        if (entry == null) {
+            return Optional.empty();
+        }
+        if (entry.version() == versionOf(id)) {
+            return Optional.of(entry.project());
+        }
+
+        /* A entrada foi carregada antes de uma escrita: descarta e lê direto do banco */
+        projects.asMap().remove(id, entry);
+        return loader.apply(id);
+    }
+
+    public void invalidate(Long id) {
+        evict(id);
+        afterCommit(() -> evict(id));
+    }
+
+    public void invalidateAll(Collection<Long> ids) {
+        ids.forEach(this::evict);
+        afterCommit(() -> ids.forEach(this::evict));
+    }
+
+    /* Um piso acima de todas as versões já dadas torna todas as entradas antigas inválidas */
+    public void clear() {
+        versionFloor.accumulateAndGet(sequence.incrementAndGet(), Math::max);
+        projects.invalidateAll();
+    }
+
+    private void evict(Long id) {
+        versions.put(id, sequence.incrementAndGet());
+        projects.invalidate(id);
+    }
+
+    private long versionOf(Long id) {
+        Long version = versions.getIfPresent(id);
+        return Math.max(versionFloor.get(), version != null ? version : 0L);
+    }
+
+    private record Entry(long version, ProjectDetail project) {
+    }
+}
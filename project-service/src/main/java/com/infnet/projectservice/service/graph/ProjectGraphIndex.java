@@ -0,0 +1,197 @@
+package com.infnet.projectservice.service.graph;
+
+import com.infnet.projectservice.model.GraphNode;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Lista de adjacência em memória das relações entre projetos. A relação é dirigida: o projeto
+ * aponta para os projetos que relacionou. Todas as consultas são buscas em largura com
+ * conjunto de visitados, então ciclos no grafo nunca causam laços infinitos.
+ * Escritas são serializadas; leituras não usam lock.
+ */
+@Component
+public class ProjectGraphIndex {
+    private final Map<Long, String> names = new ConcurrentHashMap<>();
+    private final Map<Long, Set<Long>> outgoing = new ConcurrentHashMap<>();
+    private final Map<Long, Set<Long>> incoming = new ConcurrentHashMap<>();
+
+    public synchronized void putNode(Long id, String name) {
+        names.put(id, name == null ? "" : name);
+    }
+
+    public synchronized void removeNode(Long id) {
+        names.remove(id);
+        for (Long target : outgoing.getOrDefault(id, Set.of())) {
+            incoming.getOrDefault(target, Set.of()).remove(id);
+        }
+        for (Long source : incoming.getOrDefault(id, Set.of())) {
+            outgoing.getOrDefault(source, Set.of()).remove(id);
+        }
+        outgoing.remove(id);
+        incoming.remove(id);
+    }
+
+    public synchronized void addEdge(Long from, Long to) {
+        outgoing.computeIfAbsent(from, key -> ConcurrentHashMap.newKeySet()).add(to);
+        incoming.computeIfAbsent(to, key -> ConcurrentHashMap.newKeySet()).add(from);
+    }
+
+    public synchronized void removeEdge(Long from, Long to) {
+        outgoing.getOrDefault(from, Set.of()).remove(to);
+        incoming.getOrDefault(to, Set.of()).remove(from);
+    }
+
+    public synchronized void clear() {
+        names.clear();
+        outgoing.clear();
+        incoming.clear();
+    }
+
+    public boolean contains(Long id) {
+        return names.containsKey(id);
+    }
+
+    public int size() {
+        return names.size();
+    }
+
+    /* Projetos alcançáveis a partir de id em até maxDepth relações, sem o próprio id */
+    public List<GraphNode> related(Long id, int maxDepth) {
+        Map<Long, Integer> depths = new HashMap<>();
+        Deque<Long> queue = new ArrayDeque<>();
+        List<GraphNode> result = new ArrayList<>();
+
+        depths.put(id, 0);
+        queue.add(id);
+        while (!queue.isEmpty()) {
+            Long current = queue.poll();
+            int depth = depths.get(current);
+            if (depth == maxDepth) {
+                continue;
+            }
+
+            for (Long next : outgoing.getOrDefault(current, Set.of())) {
+                if (depths.putIfAbsent(next, depth + 1) == null) {
+                    result.add(node(next, depth + 1));
+                    queue.add(next);
+                }
+            }
+        }
+
+        return result;
+    }
+
+    /* Menor caminho dirigido de from até to, incluindo os dois extremos; vazio se não houver caminho */
+    public List<GraphNode> shortestPath(Long from, Long to) {
+        if (from.equals(to)) {
+            return List.of(node(from, 0));
+        }
+
+        Map<Long, Long> parents = new HashMap<>();
+        Deque<Long> queue = new ArrayDeque<>();
+
+        parents.put(from, from);
+        queue.add(from);
+        while (!queue.isEmpty()) {
+            Long current = queue.poll();
+
+            for (Long next : outgoing.getOrDefault(current, Set.of())) {
+                if (parents.putIfAbsent(next, current) == null) {
+                    if (next.equals(to)) {
+                        return walkBack(parents, from, to);
+                    }
+                    queue.add(next);
+                }
+            }
+        }
+
+        return List.of();
+    }
+
+    /* Componente conexo do projeto, ignorando a direção das relações */
+    public List<GraphNode> component(Long id) {
+        Map<Long, Integer> depths = new HashMap<>();
+        Deque<Long> queue = new ArrayDeque<>();
+        List<GraphNode> result = new ArrayList<>();
+
+        depths.put(id, 0);
+        queue.add(id);
+        while (!queue.isEmpty()) {
+            Long current = queue.poll();
+            int depth = depths.get(current);
+            result.add(node(current, depth));
+
+            for (Map<Long, Set<Long>> edges : List.of(outgoing, incoming)) {
+                for (Long next : edges.getOrDefault(current, Set.of())) {
+                    if (depths.putIfAbsent(next, depth + 1) == null) {
+                        queue.add(next);
+                    }
+                }
+            }
+        }
+
+        return result;
+    }
+
+    /* Menor ciclo que passa pelo projeto, começando e terminando nele; vazio se não houver */
+    public List<GraphNode> findCycle(Long id) {
+        Map<Long, Long> parents = new HashMap<>();
+        Deque<Long> queue = new ArrayDeque<>();
+
+        for (Long next : outgoing.getOrDefault(id, Set.of())) {
+            if (next.equals(id)) {
+                return List.of(node(id, 0), node(id, 1));
+            }
+            if (parents.putIfAbsent(next, id) == null) {
+                queue.add(next);
+            }
+        }
+
+        while (!queue.isEmpty()) {
+            Long current = queue.poll();
+
+            for (Long next : outgoing.getOrDefault(current, Set.of())) {
+                if (next.equals(id)) {
+                    List<GraphNode> cycle = new ArrayList<>(walkBack(parents, id, current));
+                    cycle.add(node(id, cycle.size()));
+                    return cycle;
+                }
+                if (parents.putIfAbsent(next, current) == null) {
+                    queue.add(next);
+                }
+            }
+        }
+
+        return List.of();
+    }
+
+    private List<GraphNode> walkBack(Map<Long, Long> parents, Long from, Long to) {
+        List<Long> ids = new ArrayList<>();
+        for (Long current = to; !current.equals(from); current = parents.get(current)) {
+            ids.add(current);
+        }
+        ids.add(from);
+        Collections.reverse(ids);
+
+        List<GraphNode> path = new ArrayList<>(ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            path.add(node(ids.get(i), i));
+        }
+
+        return path;
+    }
+
+    private GraphNode node(Long id, int depth) {
+        return new GraphNode(id, names.get(id), depth);
+    }
+}
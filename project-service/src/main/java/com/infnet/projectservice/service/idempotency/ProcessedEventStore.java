@@ -0,0 +1,125 @@
+package com.infnet.projectservice.service.idempotency;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.infnet.projectservice.model.ProcessedEvent;
+import com.infnet.projectservice.model.Task;
+import com.infnet.projectservice.repository.ProcessedEventRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static com.infnet.projectservice.service.support.TransactionCallbacks.afterCommit;
+
+/**
+ * Deduplica tarefas recebidas pelo ID do evento e pelo ID da tarefa de origem.
+ * O cache guarda as chaves confirmadas recentemente; o que não está nele é resolvido
+ * com uma única consulta por lote na tabela processed_event.
+ *
+ * <p>Exclusões que chegam antes da criação deixam uma lápide com o ID da tarefa, de modo
+ * que a criação atrasada é descartada como já processada.
+ */
+@Component
+public class ProcessedEventStore {
+    private static final String EVENT_KEY = "event:";
+    private static final String TASK_KEY = "task:";
+    private static final String DELETED_KEY = "deleted:";
+
+    private final ProcessedEventRepository processedEventRepository;
+    private final EntityManager entityManager;
+    private final Cache<String, Boolean> recent;
+
+    public ProcessedEventStore(ProcessedEventRepository processedEventRepository,
+                               EntityManager entityManager,
+                               MeterRegistry meterRegistry,
+                               @Value("${project.processed-cache.max-size:100000}") long maxSize) {
+        this.processedEventRepository = processedEventRepository;
+        this.entityManager = entityManager;
+        this.recent = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, recent, "processed-events");
+    }
+
+    /* Retorna as tarefas ainda não aplicadas, sem repetições dentro do próprio lote */
+    public List<Task> filterNew(List<Task> tasks) {
+        List<Task> candidates = new ArrayList<>(tasks.size());
+        for (Task task : tasks) {
+            if (!seen(EVENT_KEY + eventIdOf(task)) && !seen(TASK_KEY + task.getTaskId())) {
+                candidates.add(task);
+            }
+        }
+        if (candidates.isEmpty()) {
+            return candidates;
+        }
+
+        Set<String> processedEvents = new HashSet<>();
+        Set<Long> processedTasks = new HashSet<>();
+        processedEventRepository.findProcessed(
+                candidates.stream().map(ProcessedEventStore::eventIdOf).toList(),
+                candidates.stream().map(Task::getTaskId).toList()
+        ).forEach(processed -> {
+            processedEvents.add(processed.getEventId());
+            processedTasks.add(processed.getTaskId());
+        });
+
+        List<Task> fresh = new ArrayList<>(candidates.size());
+        for (Task task : candidates) {
+            if (processedEvents.add(eventIdOf(task)) && processedTasks.add(task.getTaskId())) {
+                fresh.add(task);
+            }
+        }
+
+        return fresh;
+    }
+
+    /* Grava os eventos na transação corrente; o cache só é atualizado após o commit */
+    public void record(List<Task> tasks) {
+        List<ProcessedEvent> events = tasks.stream()
+                .map(task -> ProcessedEvent.builder().eventId(eventIdOf(task)).taskId(task.getTaskId()).build())
+                .toList();
+        /* persist direto: com ID atribuído, save faria um SELECT por evento antes do INSERT */
+        events.forEach(entityManager::persist);
+
+        afterCommit(() -> events.forEach(event -> {
+            recent.put(EVENT_KEY + event.getEventId(), Boolean.TRUE);
+            recent.put(TASK_KEY + event.getTaskId(), Boolean.TRUE);
+        }));
+    }
+
+    /* Grava lápides para as tarefas excluídas que ainda não têm registro; as que já foram criadas já têm */
+    public void recordDeleted(Collection<Long> taskIds) {
+        Set<Long> pending = new HashSet<>(taskIds);
+        pending.removeAll(processedEventRepository.findProcessedTaskIds(taskIds));
+
+        List<ProcessedEvent> tombstones = pending.stream()
+                .map(taskId -> ProcessedEvent.builder().eventId(DELETED_KEY + taskId).taskId(taskId).build())
+                .toList();
+        tombstones.forEach(entityManager::persist);
+
+        afterCommit(() -> tombstones.forEach(tombstone -> recent.put(TASK_KEY + tombstone.getTaskId(), Boolean.TRUE)));
+    }
+
+    public boolean isDeleted(Long taskId) {
+        return processedEventRepository.existsById(DELETED_KEY + taskId);
+    }
+
+    /* Mensagens sem message-id, anteriores à outbox, usam o ID da tarefa como ID do evento */
+    private static String eventIdOf(Task task) {
+        return task.getEventId() != null ? task.getEventId() : TASK_KEY + task.getTaskId();
+    }
+
+    private boolean seen(String key) {
+        return recent.getIfPresent(key) != null;
+    }
+}
@@ -1,19 +1,45 @@
 package com.infnet.projectservice.service.impl;
 
+import com.infnet.projectservice.model.GraphNode;
 import com.infnet.projectservice.model.Project;
+import com.infnet.projectservice.model.ProjectDetail;
+import com.infnet.projectservice.model.ProjectSummary;
+import com.infnet.projectservice.model.ProjectTaskTotals;
 import com.infnet.projectservice.model.RelatedProject;
 import com.infnet.projectservice.model.Task;
+import com.infnet.projectservice.rabbitMq.ProjectProducer;
+import com.infnet.projectservice.repository.OutboxEventRepository;
 import com.infnet.projectservice.repository.ProjectRepository;
 import com.infnet.projectservice.repository.RelatedProjectRepository;
+import com.infnet.projectservice.repository.TaskRepository;
 import com.infnet.projectservice.service.ProjectService;
+import com.infnet.projectservice.service.ProjectTotalsService;
+import com.infnet.projectservice.service.cache.ProjectReadCache;
+import com.infnet.projectservice.service.graph.ProjectGraphIndex;
+import com.infnet.projectservice.service.idempotency.ProcessedEventStore;
+import com.infnet.search.NameMatch;
+import com.infnet.search.NameSearchIndex;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static com.infnet.projectservice.service.support.TransactionCallbacks.afterCommit;
 
 @Service
 @Slf4j
@@ -21,11 +47,54 @@ import java.util.Optional;
 public class ProjectServiceImpl implements ProjectService {
     private final ProjectRepository projectRepository;
     private final RelatedProjectRepository relatedProjectRepository;
+    private final TaskRepository taskRepository;
+    private final ProcessedEventStore processedEventStore;
+    private final ProjectTotalsService projectTotalsService;
+    private final ProjectReadCache projectReadCache;
+    private final NameSearchIndex nameSearchIndex;
+    private final ProjectGraphIndex projectGraphIndex;
+    private final ProjectProducer projectProducer;
+    private final OutboxEventRepository outboxEventRepository;
+
+    @Value("${project.search.max-results:50}")
+    private int maxSearchResults;
+
+    @Value("${project.batch.max-ids:1000}")
+    private int maxBatchIds;
+
+    @Value("${project.graph.max-depth:10}")
+    private int maxGraphDepth;
+
+    @Value("${project.tasks.page.default-size:50}")
+    private int defaultTaskPageSize;
+
+    @Value("${project.tasks.page.max-size:500}")
+    private int maxTaskPageSize;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildNameIndex() {
+        log.info("Indexando nomes dos projetos para busca...");
+
+        projectRepository.findAllNames().forEach(project -> nameSearchIndex.put(project.getId(), project.getName()));
+
+        log.info("{} projetos indexados.", nameSearchIndex.size());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildGraphIndex() {
+        log.info("Indexando relações entre projetos...");
+
+        projectGraphIndex.clear();
+        projectRepository.findAllNames().forEach(project -> projectGraphIndex.putNode(project.getId(), project.getName()));
+        projectRepository.findAllRelations().forEach(relation -> projectGraphIndex.addEdge(relation.getProjectId(), relation.getRelatedProjectId()));
+
+        log.info("Grafo com {} projetos indexado.", projectGraphIndex.size());
+    }
 
     @Override
-    public List<Project> findAll() throws Exception {
+    public List<ProjectSummary> findAll() throws Exception {
         log.info("Buscando projetos...");
-        List<Project> projects = projectRepository.findAll();
+        List<ProjectSummary> projects = projectRepository.findAllSummaries();
 
         if (projects.isEmpty()) {
             log.error("Erro: Nenhum projeto encontrado");
@@ -38,9 +107,10 @@ public class ProjectServiceImpl implements ProjectService {
     }
 
     @Override
-    public Optional<Project> findById(Long id) throws Exception {
+    @Transactional
+    public Optional<ProjectDetail> findById(Long id) throws Exception {
         log.info("Buscando projeto...");
-        Project existingProject = projectRepository.findById(id)
+        ProjectDetail existingProject = projectReadCache.get(id, key -> findDetail(key).map(ProjectDetail::of))
                 .orElseThrow(() -> new Exception("Erro: Projeto com ID: " + id + " não encontrado."));
 
         log.info("Projeto encontrado com sucesso.");
@@ -48,14 +118,22 @@ public class ProjectServiceImpl implements ProjectService {
         return Optional.of(existingProject);
     }
 
+    /* Duas consultas fixas: o projeto com os relacionados e, na mesma sessão, as tarefas */
+    private Optional<Project> findDetail(Long id) {
+        Optional<Project> project = projectRepository.findDetailById(id);
+        project.ifPresent(found -> projectRepository.fetchTasksById(id));
+
+        return project;
+    }
+
     @Override
-    public List<Project> findByName(String name) throws Exception {
+    public List<ProjectSummary> findByName(String name) throws Exception {
         if (name == null || name.isEmpty()) {
             throw new IllegalArgumentException("Erro: Insira um nome válido.");
         }
         log.info("Buscando projetos...");
 
-        List<Project> projects = projectRepository.findByName(name);
+        List<ProjectSummary> projects = projectRepository.findSummariesByName(name);
 
         if (projects.isEmpty()) {
             log.error("Nenhum projeto encontrada");
@@ -67,6 +145,45 @@ public class ProjectServiceImpl implements ProjectService {
         return projects;
     }
 
+    @Override
+    public List<ProjectSummary> findAllById(Collection<Long> ids) throws Exception {
+        if (ids == null || ids.isEmpty()) {
+            throw new IllegalArgumentException("Erro: Informe os IDs dos projetos.");
+        }
+
+        Set<Long> distinctIds = ids.stream().filter(Objects::nonNull).collect(Collectors.toSet());
+        if (distinctIds.size() > maxBatchIds) {
+            throw new IllegalArgumentException("Erro: Informe no máximo " + maxBatchIds + " IDs por busca.");
+        }
+        log.info("Buscando {} projetos...", distinctIds.size());
+
+        /* IDs inexistentes são omitidos da resposta */
+        return projectRepository.findSummariesByIdIn(distinctIds);
+    }
+
+    @Override
+    public Page<Task> findTasks(Long id, Integer page, Integer size) throws Exception {
+        if (!projectRepository.existsById(id)) {
+            throw new Exception("Erro: Projeto com ID: " + id + " não encontrado.");
+        }
+
+        int pageNumber = page == null ? 0 : Math.max(page, 0);
+        int pageSize = size == null ? defaultTaskPageSize : Math.min(Math.max(size, 1), maxTaskPageSize);
+
+        return taskRepository.findByProjectId(id, PageRequest.of(pageNumber, pageSize));
+    }
+
+    @Override
+    public List<NameMatch> search(String query, Integer limit) {
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("Erro: Insira um termo de busca válido.");
+        }
+
+        int maxResults = limit == null ? 10 : Math.min(Math.max(limit, 1), maxSearchResults);
+
+        return nameSearchIndex.search(query, maxResults);
+    }
+
     @Override
     public Project create(Project project) throws Exception {
         log.info("Criando projeto...");
@@ -75,58 +192,45 @@ public class ProjectServiceImpl implements ProjectService {
             throw new IllegalArgumentException("Erro: Nome inválido.");
         }
 
+        Project savedProject = projectRepository.save(project);
+        afterCommit(() -> {
+            nameSearchIndex.put(savedProject.getId(), savedProject.getName());
+            projectGraphIndex.putNode(savedProject.getId(), savedProject.getName());
+        });
+
         log.info("Projeto criado com sucesso.");
 
-        return projectRepository.save(project);
+        return savedProject;
     }
 
     @Override
-    public Optional<Project> update(Long id, Project project) throws Exception {
-        Optional<Project> existingProjectOpt = projectRepository.findById(id);
-        if (existingProjectOpt.isEmpty()) {
+    @Transactional(rollbackOn = Exception.class)
+    public Optional<ProjectSummary> update(Long id, Project project) throws Exception {
+        /* progress, totalCost, estimatedHours e os contadores de tarefas vindos do corpo são ignorados pelo UPDATE */
+        /* Um único UPDATE com as colunas informadas, sem carregar o projeto e suas tarefas */
+        if (projectRepository.updateNonNullFields(id, project) == 0) {
             throw new Exception("Erro: Projeto não encontrado, tente outro ID.");
         }
-        Project existingProject = existingProjectOpt.get();
+        projectReadCache.invalidate(id);
 
         if (project.getName() != null) {
-            existingProject.setName(project.getName());
-        }
-        if (project.getDescription() != null) {
-            existingProject.setDescription(project.getDescription());
-        }
-        if (project.getProgress() != null) {
-            existingProject.setProgress(project.getProgress());
-        }
-        if (project.getTotalCost() != null) {
-            existingProject.setTotalCost(project.getTotalCost());
-        }
-        if (project.getEstimatedHours() != null) {
-            existingProject.setEstimatedHours(project.getEstimatedHours());
-        }
-        if (project.getBudget() != null) {
-            existingProject.setBudget(project.getBudget());
+            afterCommit(() -> {
+                nameSearchIndex.put(id, project.getName());
+                projectGraphIndex.putNode(id, project.getName());
+            });
+            /* As cópias do nome nas relações e nas tarefas são atualizadas de forma assíncrona, a partir da outbox */
+            outboxEventRepository.save(projectProducer.toRenamedEvent(id, project.getName()));
         }
-        if (project.getClient() != null) {
-            existingProject.setClient(project.getClient());
-        }
-        if (project.getClientAddress() != null) {
-            existingProject.setClientAddress(project.getClientAddress());
-        }
-        if (project.getActive() != null) {
-            existingProject.setActive(project.getActive());
-        }
-
-        project.setId(id);
-        projectRepository.save(existingProject);
 
-        return Optional.of(existingProject);
+        return projectRepository.findSummaryById(id);
     }
 
     @Override
+    @Transactional(rollbackOn = Exception.class)
     public Optional<Project> delete(Long id) throws Exception {
         log.info("Excluindo projeto...");
 
-        Optional<Project> deletedProject = projectRepository.findById(id);
+        Optional<Project> deletedProject = findDetail(id);
 
         if (deletedProject.isEmpty()) {
             log.error("Projeto com ID " + id + " não encontrado.");
@@ -134,6 +238,11 @@ public class ProjectServiceImpl implements ProjectService {
         }
 
         projectRepository.deleteById(id);
+        projectReadCache.invalidate(id);
+        afterCommit(() -> {
+            nameSearchIndex.remove(id);
+            projectGraphIndex.removeNode(id);
+        });
         log.info("Projeto excluído com sucesso.");
 
         return deletedProject;
@@ -156,8 +265,63 @@ public class ProjectServiceImpl implements ProjectService {
 
         project.getRelatedProjects().add(relatedProject);
         projectRepository.save(project);
+        projectReadCache.invalidate(id);
+        afterCommit(() -> projectGraphIndex.addEdge(id, relatedProjectId));
+
+        return findDetail(id);
+    }
+
+    @Override
+    @Transactional
+    public Optional<Project> removeRelatedProject(Long id, Long relatedProjectId) throws Exception {
+        Project project = findDetail(id)
+                .orElseThrow(() -> new Exception("Erro: Não foi possível encontrar projeto com ID: " + id));
+
+        if (!project.getRelatedProjects().removeIf(related -> Objects.equals(related.getProjectId(), relatedProjectId))) {
+            throw new IllegalArgumentException("Erro: O projeto " + relatedProjectId + " não está relacionado ao projeto " + id + ".");
+        }
+
+        projectRepository.save(project);
+        projectReadCache.invalidate(id);
+        afterCommit(() -> projectGraphIndex.removeEdge(id, relatedProjectId));
+
+        return Optional.of(project);
+    }
+
+    @Override
+    public List<GraphNode> findRelated(Long id, Integer depth) throws Exception {
+        requireIndexed(id);
+        int maxDepth = depth == null ? 1 : Math.min(Math.max(depth, 1), maxGraphDepth);
 
-        return projectRepository.findById(id);
+        return projectGraphIndex.related(id, maxDepth);
+    }
+
+    @Override
+    public List<GraphNode> findPath(Long id, Long targetId) throws Exception {
+        requireIndexed(id);
+        requireIndexed(targetId);
+
+        return projectGraphIndex.shortestPath(id, targetId);
+    }
+
+    @Override
+    public List<GraphNode> findComponent(Long id) throws Exception {
+        requireIndexed(id);
+
+        return projectGraphIndex.component(id);
+    }
+
+    @Override
+    public List<GraphNode> findCycle(Long id) throws Exception {
+        requireIndexed(id);
+
+        return projectGraphIndex.findCycle(id);
+    }
+
+    private void requireIndexed(Long id) throws Exception {
+        if (!projectGraphIndex.contains(id)) {
+            throw new Exception("Erro: Projeto com ID: " + id + " não encontrado.");
+        }
     }
 
     @Override
@@ -166,12 +330,126 @@ public class ProjectServiceImpl implements ProjectService {
         Project project = projectRepository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Erro: Não foi possível encontrar projeto com ID: " + id));
 
-        if (project.getTasks().stream().noneMatch(a -> a.getId().equals(task.getId()))) {
-            project.getTasks().add(task);
-            projectRepository.save(project);
-            log.info("Tarefa " + task.getName() + " adicionado ao projeto com ID: " + id + "]");
-        } else {
-            log.info("Tarefa com ID: " + task.getId() + " já está relacionada ao projeto." + id);
+        if (task.getTaskId() != null && processedEventStore.filterNew(List.of(task)).isEmpty()) {
+            log.info("Tarefa com ID: " + task.getTaskId() + " já está relacionada ao projeto." + id);
+            return;
+        }
+
+        ProjectTaskTotals delta = ProjectTaskTotals.of(id, List.of(task));
+        project.setTaskCount(project.getTaskCount() + delta.getTaskCount().intValue());
+        project.setCompletedTaskCount(project.getCompletedTaskCount() + delta.getCompletedTaskCount().intValue());
+        project.setTotalCost(project.getTotalCost() + delta.getTotalCost().floatValue());
+        project.setEstimatedHours(project.getEstimatedHours() + delta.getEstimatedHours().intValue());
+        project.setProgress(project.getCompletedTaskCount() * 100 / project.getTaskCount());
+
+        project.getTasks().add(task);
+        projectRepository.save(project);
+        projectReadCache.invalidate(id);
+        if (task.getTaskId() != null) {
+            processedEventStore.record(List.of(task));
+        }
+        log.info("Tarefa " + task.getName() + " adicionado ao projeto com ID: " + id + "]");
+    }
+
+    @Override
+    @Transactional
+    public Set<Long> addTasks(Map<Long, List<Task>> tasksByProject) {
+        Set<Long> existing = new HashSet<>(projectRepository.findExistingIds(tasksByProject.keySet()));
+        Set<Long> missing = new HashSet<>(tasksByProject.keySet());
+        missing.removeAll(existing);
+
+        List<Task> received = tasksByProject.entrySet().stream()
+                .filter(entry -> existing.contains(entry.getKey()))
+                .flatMap(entry -> entry.getValue().stream())
+                .toList();
+
+        /* Duplicatas são descartadas pelo registro de eventos, sem ler a coleção de tarefas do projeto */
+        List<Task> fresh = processedEventStore.filterNew(received);
+        if (fresh.size() < received.size()) {
+            log.info("{} tarefas já processadas foram ignoradas.", received.size() - fresh.size());
         }
+        if (fresh.isEmpty()) {
+            return missing;
+        }
+
+        Map<Long, List<Task>> freshByProject = taskRepository.saveAllAndFlush(fresh).stream()
+                .collect(Collectors.groupingBy(Task::getProjectId));
+        freshByProject.forEach((projectId, tasks) -> taskRepository.linkToProject(projectId, tasks.stream().map(Task::getId).toList()));
+        projectTotalsService.apply(freshByProject.entrySet().stream()
+                .map(entry -> ProjectTaskTotals.of(entry.getKey(), entry.getValue()))
+                .toList());
+        projectReadCache.invalidateAll(freshByProject.keySet());
+        processedEventStore.record(fresh);
+        log.info("{} tarefas adicionadas a {} projetos.", fresh.size(), existing.size());
+
+        return missing;
+    }
+
+    @Override
+    @Transactional
+    public int removeTasks(Collection<Long> taskIds) {
+        if (taskIds == null || taskIds.isEmpty()) {
+            return 0;
+        }
+
+        List<ProjectTaskTotals> removed = projectRepository.sumTaskTotalsByTaskIds(taskIds);
+        projectTotalsService.apply(removed.stream().map(ProjectTaskTotals::negate).toList());
+        projectReadCache.invalidateAll(removed.stream().map(ProjectTaskTotals::getProjectId).toList());
+
+        taskRepository.deleteProjectLinksByTaskIdIn(taskIds);
+        int deleted = taskRepository.deleteAllByTaskIdIn(taskIds);
+
+        /* A criação pode chegar depois da exclusão, vinda do buffer do lote ou das filas de retentativa */
+        processedEventStore.recordDeleted(taskIds);
+
+        return deleted;
+    }
+
+    /* Aplica o estado novo sobre a cópia local e soma só a diferença aos totais do projeto.
+       Reentregas e eventos fora de ordem não alteram nada: a diferença é zero ou o evento é mais antigo que a cópia */
+    @Override
+    @Transactional
+    public boolean updateTask(Task task) {
+        Optional<Task> existing = taskRepository.findByTaskId(task.getTaskId());
+        if (existing.isEmpty() && processedEventStore.isDeleted(task.getTaskId())) {
+            log.info("Atualização da tarefa {} já excluída ignorada.", task.getTaskId());
+            return false;
+        }
+        Task copy = existing
+                .orElseThrow(() -> new IllegalStateException("Erro: Tarefa com ID: " + task.getTaskId() + " ainda não recebida."));
+
+        if (copy.getSourceUpdatedAt() != null && task.getSourceUpdatedAt() != null
+                && task.getSourceUpdatedAt().isBefore(copy.getSourceUpdatedAt())) {
+            log.info("Atualização antiga da tarefa {} ignorada.", task.getTaskId());
+            return false;
+        }
+
+        ProjectTaskTotals before = ProjectTaskTotals.of(copy.getProjectId(), List.of(copy));
+
+        copy.setName(task.getName());
+        copy.setDescription(task.getDescription());
+        copy.setObservation(task.getObservation());
+        copy.setHourlyRate(task.getHourlyRate());
+        copy.setBudget(task.getBudget());
+        copy.setEstimatedHours(task.getEstimatedHours());
+        copy.setActive(task.getActive());
+        copy.setSourceUpdatedAt(task.getSourceUpdatedAt());
+        taskRepository.save(copy);
+
+        projectTotalsService.apply(List.of(ProjectTaskTotals.of(copy.getProjectId(), List.of(copy)).plus(before.negate())));
+        projectReadCache.invalidate(copy.getProjectId());
+
+        return true;
+    }
+
+    @Override
+    @Transactional
+    public int renameRelatedProjects(Long projectId, String name, LocalDateTime changedAt) {
+        int renamed = relatedProjectRepository.renameByProjectId(projectId, name, changedAt);
+        if (renamed > 0) {
+            projectReadCache.invalidateAll(relatedProjectRepository.findOwnerIdsByProjectId(projectId));
+        }
+
+        return renamed;
     }
 }
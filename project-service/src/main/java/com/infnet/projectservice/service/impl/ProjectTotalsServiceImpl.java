@@ -0,0 +1,103 @@
+package com.infnet.projectservice.service.impl;
+
+import com.infnet.projectservice.model.ProjectTaskTotals;
+import com.infnet.projectservice.repository.ProjectRepository;
+import com.infnet.projectservice.service.ProjectTotalsService;
+import com.infnet.projectservice.service.cache.ProjectReadCache;
+import jakarta.annotation.PreDestroy;
+import jakarta.transaction.Transactional;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Mantém taskCount, progress, totalCost e estimatedHours do projeto somando deltas com um
+ * UPDATE por projeto, sem ler a coleção de tarefas. O recálculo completo divide os projetos
+ * em lanes por {@code id % parallelism}, cada uma em sua própria transação, que trava as
+ * linhas da lane antes de somar as tarefas.
+ */
+@Service
+@Slf4j
+public class ProjectTotalsServiceImpl implements ProjectTotalsService {
+    private final ProjectRepository projectRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ProjectReadCache projectReadCache;
+    private final int parallelism;
+    private final ExecutorService executor;
+
+    public ProjectTotalsServiceImpl(ProjectRepository projectRepository,
+                                    TransactionTemplate transactionTemplate,
+                                    ProjectReadCache projectReadCache,
+                                    @Value("${project.totals.recompute-parallelism:4}") int parallelism) {
+        this.projectRepository = projectRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.projectReadCache = projectReadCache;
+        this.parallelism = parallelism;
+        this.executor = Executors.newFixedThreadPool(parallelism);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    @Override
+    @Transactional(Transactional.TxType.MANDATORY)
+    public void apply(Collection<ProjectTaskTotals> deltas) {
+        for (ProjectTaskTotals delta : deltas) {
+            projectRepository.addTaskTotals(delta.getProjectId(),
+                    delta.getTaskCount().intValue(),
+                    delta.getCompletedTaskCount().intValue(),
+                    delta.getTotalCost().floatValue(),
+                    delta.getEstimatedHours().intValue());
+        }
+    }
+
+    @Override
+    public int recompute() throws Exception {
+        log.info("Recalculando totais dos projetos a partir das tarefas...");
+
+        List<Future<Integer>> lanes = new ArrayList<>(parallelism);
+        for (int lane = 0; lane < parallelism; lane++) {
+            int actLane = lane;
+            lanes.add(executor.submit(() -> recomputeLane(actLane)));
+        }
+
+        int total = 0;
+        for (Future<Integer> lane : lanes) {
+            total += lane.get();
+        }
+        projectReadCache.clear();
+
+        log.info("Totais de {} projetos recalculados.", total);
+        return total;
+    }
+
+    private int recomputeLane(int lane) {
+        return Objects.requireNonNull(transactionTemplate.execute(status -> {
+            /* Os deltas aplicados por apply() esperam o fim desta transação antes de somar */
+            projectRepository.lockIdsByLane(parallelism, lane);
+            List<ProjectTaskTotals> totals = projectRepository.sumTaskTotalsByLane(parallelism, lane);
+
+            for (ProjectTaskTotals total : totals) {
+                projectRepository.setTaskTotals(total.getProjectId(),
+                        total.getTaskCount().intValue(),
+                        total.getCompletedTaskCount().intValue(),
+                        total.getTotalCost().floatValue(),
+                        total.getEstimatedHours().intValue(),
+                        total.progress());
+            }
+
+            return totals.size();
+        }));
+    }
+}
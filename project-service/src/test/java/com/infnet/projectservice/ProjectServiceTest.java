@@ -1,18 +1,25 @@
 package com.infnet.projectservice;
 
 import com.infnet.projectservice.model.Project;
+import com.infnet.projectservice.model.ProjectDetail;
+import com.infnet.projectservice.model.ProjectSummary;
 import com.infnet.projectservice.model.Task;
 import com.infnet.projectservice.repository.ProjectRepository;
 import com.infnet.projectservice.repository.RelatedProjectRepository;
+import com.infnet.projectservice.service.ProjectTotalsService;
 import com.infnet.projectservice.service.impl.ProjectServiceImpl;
+import jakarta.persistence.EntityManager;
 import jakarta.transaction.Transactional;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
@@ -31,6 +38,15 @@ class ProjectServiceTest {
     @Autowired
     private ProjectServiceImpl projectService;
 
+    @Autowired
+    private ProjectTotalsService projectTotalsService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
     @BeforeEach
     public void setUp() {
         projectRepository.deleteAll();
@@ -54,7 +70,7 @@ class ProjectServiceTest {
 
         Project savedProject = projectService.create(project);
 
-        Optional<Project> foundProject = projectService.findById(savedProject.getId());
+        Optional<ProjectDetail> foundProject = projectService.findById(savedProject.getId());
         assertTrue(foundProject.isPresent());
         assertEquals("Projeto Teste ID", foundProject.get().getName());
     }
@@ -76,7 +92,7 @@ class ProjectServiceTest {
 
         projectService.create(project);
 
-        List<Project> projects = projectService.findByName("Projeto Teste Nome");
+        List<ProjectSummary> projects = projectService.findByName("Projeto Teste Nome");
 
         assertThat(projects).isNotNull();
         assertThat(projects.get(0).getName()).isEqualTo("Projeto Teste Nome");
@@ -103,9 +119,10 @@ class ProjectServiceTest {
         assertThat(savedProject.getName()).isEqualTo("Projeto Teste");
         assertThat(savedProject.getDescription()).isEqualTo("Testando");
         assertThat(savedProject.getActive()).isTrue();
-        assertThat(savedProject.getProgress()).isEqualTo(50);
-        assertThat(savedProject.getTotalCost()).isEqualTo(500.0f);
-        assertThat(savedProject.getEstimatedHours()).isEqualTo(10);
+        /* Valores informados na criação são ignorados; os totais vêm apenas das tarefas */
+        assertThat(savedProject.getProgress()).isEqualTo(0);
+        assertThat(savedProject.getTotalCost()).isEqualTo(0.0f);
+        assertThat(savedProject.getEstimatedHours()).isEqualTo(0);
         assertThat(savedProject.getBudget()).isEqualTo(1000.0f);
         assertThat(savedProject.getClient()).isEqualTo("Bruno");
         assertThat(savedProject.getClientAddress()).isEqualTo("Rua Faria Lima, 897");
@@ -236,7 +253,7 @@ class ProjectServiceTest {
 
         projectService.addTask(savedProject.getId(), task);
 
-        Optional<Project> updatedProject = projectService.findById(savedProject.getId());
+        Optional<ProjectDetail> updatedProject = projectService.findById(savedProject.getId());
         assertTrue(updatedProject.isPresent());
         assertEquals(1, updatedProject.get().getTasks().size());
         assertEquals("Tarefa Teste", updatedProject.get().getTasks().get(0).getName());
@@ -246,4 +263,175 @@ class ProjectServiceTest {
         assertEquals(100, updatedProject.get().getTasks().get(0).getEstimatedHours());
         assertTrue(updatedProject.get().getTasks().get(0).getActive());
     }
+
+    @Test
+    @DisplayName("Deve encontrar projetos relacionados indiretamente")
+    /* O grafo só muda depois do commit, então o teste não pode rodar na transação desfeita ao final */
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
+    public void findRelatedTest() throws Exception {
+        Long[] ids = new Long[3];
+        for (int i = 0; i < ids.length; i++) {
+            Project project = new Project();
+
+            project.setName("Projeto Grafo " + i);
+            project.setDescription("Testando");
+            project.setActive(true);
+            project.setProgress(50);
+            project.setTotalCost(500.0f);
+            project.setEstimatedHours(10);
+            project.setBudget(1000.0f);
+            project.setClient("Bruno");
+            project.setClientAddress("Rua Faria Lima, 897");
+
+            ids[i] = projectService.create(project).getId();
+        }
+
+        projectService.addRelatedProject(ids[0], ids[1]);
+        projectService.addRelatedProject(ids[1], ids[2]);
+
+        assertEquals(1, projectService.findRelated(ids[0], 1).size());
+        assertEquals(2, projectService.findRelated(ids[0], 2).size());
+        assertEquals(3, projectService.findPath(ids[0], ids[2]).size());
+        assertTrue(projectService.findPath(ids[2], ids[0]).isEmpty());
+        assertTrue(projectService.findCycle(ids[0]).isEmpty());
+
+        projectService.addRelatedProject(ids[2], ids[0]);
+
+        assertEquals(4, projectService.findCycle(ids[0]).size());
+    }
+
+    @Test
+    @DisplayName("Deve ignorar os campos calculados a partir das tarefas ao atualizar o projeto")
+    void updateDerivedFieldsTest() throws Exception {
+        Project savedProject = projectService.create(totalsProject("Projeto Campos Calculados"));
+
+        Project changes = new Project();
+        changes.setDescription("Editado");
+        changes.setProgress(80);
+        changes.setTotalCost(999.0f);
+        changes.setEstimatedHours(50);
+        changes.setTaskCount(3);
+        changes.setCompletedTaskCount(2);
+
+        ProjectSummary updated = projectService.update(savedProject.getId(), changes).orElseThrow();
+
+        assertEquals("Editado", updated.getDescription());
+        assertEquals(0, updated.getProgress());
+        assertEquals(0.0f, updated.getTotalCost());
+        assertEquals(0, updated.getEstimatedHours());
+        assertEquals(0, updated.getTaskCount());
+    }
+
+    @Test
+    @DisplayName("Deve somar e subtrair os totais do projeto quando tarefas chegam e são excluídas")
+    void addTaskTotalsTest() throws Exception {
+        Long id = projectService.create(totalsProject("Projeto Totais")).getId();
+
+        projectService.addTasks(Map.of(id, List.of(totalsTask(id, 9101L, true), totalsTask(id, 9102L, false))));
+        entityManager.clear();
+
+        Project project = projectRepository.findById(id).orElseThrow();
+        assertEquals(2, project.getTaskCount());
+        assertEquals(1, project.getCompletedTaskCount());
+        assertEquals(400.0f, project.getTotalCost());
+        assertEquals(20, project.getEstimatedHours());
+        assertEquals(50, project.getProgress());
+
+        projectService.removeTasks(List.of(9102L));
+        entityManager.clear();
+
+        project = projectRepository.findById(id).orElseThrow();
+        assertEquals(1, project.getTaskCount());
+        assertEquals(200.0f, project.getTotalCost());
+        assertEquals(10, project.getEstimatedHours());
+        assertEquals(0, project.getProgress());
+    }
+
+    @Test
+    @DisplayName("Deve descartar a criação e a atualização de uma tarefa cuja exclusão chegou antes")
+    void deleteBeforeCreateTest() throws Exception {
+        Long id = projectService.create(totalsProject("Projeto Exclusão Antecipada")).getId();
+
+        assertEquals(0, projectService.removeTasks(List.of(9401L)));
+        projectService.addTasks(Map.of(id, List.of(totalsTask(id, 9401L, true))));
+        assertFalse(projectService.updateTask(totalsTask(id, 9401L, false)));
+        entityManager.clear();
+
+        Project project = projectRepository.findById(id).orElseThrow();
+        assertEquals(0, project.getTaskCount());
+        assertEquals(0.0f, project.getTotalCost());
+        assertEquals(0, project.getEstimatedHours());
+    }
+
+    @Test
+    @DisplayName("Deve aplicar só a diferença de uma tarefa atualizada e ignorar atualizações antigas")
+    void updateTaskTotalsTest() throws Exception {
+        Long id = projectService.create(totalsProject("Projeto Atualização Tarefa")).getId();
+        Task task = totalsTask(id, 9301L, true);
+        task.setSourceUpdatedAt(LocalDateTime.now().minusMinutes(1));
+        projectService.addTasks(Map.of(id, List.of(task)));
+
+        Task updated = totalsTask(id, 9301L, false);
+        updated.setEstimatedHours(30);
+        updated.setSourceUpdatedAt(LocalDateTime.now());
+        Task stale = totalsTask(id, 9301L, true);
+        stale.setSourceUpdatedAt(LocalDateTime.now().minusMinutes(2));
+
+        assertTrue(projectService.updateTask(updated));
+        assertFalse(projectService.updateTask(stale));
+        entityManager.clear();
+
+        Project project = projectRepository.findById(id).orElseThrow();
+        assertEquals(1, project.getTaskCount());
+        assertEquals(1, project.getCompletedTaskCount());
+        assertEquals(600.0f, project.getTotalCost());
+        assertEquals(30, project.getEstimatedHours());
+        assertEquals(100, project.getProgress());
+    }
+
+    @Test
+    @DisplayName("Deve recalcular os totais do projeto a partir das tarefas")
+    /* O recálculo roda em outras threads e só enxerga dados já gravados */
+    @Transactional(Transactional.TxType.NOT_SUPPORTED)
+    void recomputeTotalsTest() throws Exception {
+        Long id = projectService.create(totalsProject("Projeto Recalculo")).getId();
+        projectService.addTasks(Map.of(id, List.of(totalsTask(id, 9201L, true), totalsTask(id, 9202L, false))));
+        transactionTemplate.executeWithoutResult(status -> projectRepository.setTaskTotals(id, 0, 0, 0f, 0, 0));
+
+        assertTrue(projectTotalsService.recompute() >= 1);
+
+        Project project = projectRepository.findById(id).orElseThrow();
+        assertEquals(2, project.getTaskCount());
+        assertEquals(1, project.getCompletedTaskCount());
+        assertEquals(400.0f, project.getTotalCost());
+        assertEquals(20, project.getEstimatedHours());
+        assertEquals(50, project.getProgress());
+    }
+
+    private static Project totalsProject(String name) {
+        Project project = new Project();
+
+        project.setName(name);
+        project.setDescription("Testando");
+        project.setActive(true);
+        project.setBudget(1000.0f);
+        project.setClient("Bruno");
+        project.setClientAddress("Rua Faria Lima, 897");
+
+        return project;
+    }
+
+    private static Task totalsTask(Long projectId, Long taskId, boolean active) {
+        return Task.builder()
+                .taskId(taskId)
+                .eventId("evento-" + taskId)
+                .name("Tarefa " + taskId)
+                .description("Descrição tarefa")
+                .hourlyRate(20.0f)
+                .budget(100.0f)
+                .estimatedHours(10)
+                .active(active)
+                .projectId(projectId)
+                .build();
+    }
 }
@@ -0,0 +1,145 @@
+package com.infnet.projectservice.rabbitMq;
+
+import com.infnet.projectservice.config.RabbitConfig;
+import com.rabbitmq.client.AMQP;
+import com.rabbitmq.client.Channel;
+import com.rabbitmq.client.Envelope;
+import com.rabbitmq.client.GetResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.ChannelCallback;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TaskRetryRouterTest {
+    private RabbitTemplate rabbitTemplate;
+    private TaskRetryRouter router;
+    private boolean ack;
+
+    @BeforeEach
+    void setUp() {
+        rabbitTemplate = mock(RabbitTemplate.class);
+        router = new TaskRetryRouter(rabbitTemplate, new SimpleMeterRegistry(), Duration.ofMillis(200));
+        ack = true;
+
+        doAnswer(invocation -> {
+            CorrelationData correlation = invocation.getArgument(3);
+            correlation.getFuture().complete(new CorrelationData.Confirm(ack, ack ? null : "fila cheia"));
+            return null;
+        }).when(rabbitTemplate).send(anyString(), anyString(), any(Message.class), any(CorrelationData.class));
+    }
+
+    @Test
+    @DisplayName("Deve subir um nível a cada falha e estacionar depois do último")
+    void retryTiersTest() {
+        Message message = message(RabbitConfig.TASK_QUEUE);
+
+        for (int tier = 1; tier <= RabbitConfig.RETRY_DELAYS_MS.length; tier++) {
+            router.retry(message, "falha");
+
+            verify(rabbitTemplate).send(eq(""), eq("task-retry-" + tier), eq(message), any(CorrelationData.class));
+            assertThat((Integer) message.getMessageProperties().getHeader(TaskRetryRouter.RETRY_COUNT_HEADER)).isEqualTo(tier);
+        }
+
+        router.retry(message, "falha");
+
+        verify(rabbitTemplate).send(eq(""), eq(RabbitConfig.TASK_PARKING_LOT_QUEUE), eq(message), any(CorrelationData.class));
+        assertThat((String) message.getMessageProperties().getHeader(TaskRetryRouter.ORIGINAL_QUEUE_HEADER))
+                .isEqualTo(RabbitConfig.TASK_QUEUE);
+    }
+
+    @Test
+    @DisplayName("Deve usar os níveis da fila de exclusões para mensagens de exclusão")
+    void retryDeletedQueueTest() {
+        Message message = message(RabbitConfig.TASK_DELETED_QUEUE);
+
+        router.retry(message, "falha");
+
+        verify(rabbitTemplate).send(eq(""), eq("task-deleted-retry-1"), eq(message), any(CorrelationData.class));
+    }
+
+    @Test
+    @DisplayName("Deve lançar exceção quando o broker recusa a mensagem")
+    void nackTest() {
+        ack = false;
+
+        assertThatThrownBy(() -> router.park(message(RabbitConfig.TASK_QUEUE), "falha"))
+                .isInstanceOf(AmqpException.class)
+                .hasMessageContaining("fila cheia");
+    }
+
+    @Test
+    @DisplayName("Deve devolver as mensagens do parking lot para a fila de origem sem o contador")
+    void replayParkedTest() throws Exception {
+        Channel channel = parkedChannel();
+
+        assertThat(router.replayParked(10)).isEqualTo(1);
+
+        ArgumentCaptor<Message> replayed = ArgumentCaptor.forClass(Message.class);
+        verify(rabbitTemplate).send(eq(""), eq(RabbitConfig.TASK_DELETED_QUEUE), replayed.capture(), any(CorrelationData.class));
+        verify(channel).basicAck(7L, false);
+        verify(channel, never()).basicNack(anyLong(), anyBoolean(), anyBoolean());
+        assertThat(replayed.getValue().getMessageProperties().getHeaders())
+                .doesNotContainKeys(TaskRetryRouter.RETRY_COUNT_HEADER, TaskRetryRouter.ORIGINAL_QUEUE_HEADER);
+    }
+
+    @Test
+    @DisplayName("Deve manter a mensagem no parking lot quando a republicação não é confirmada")
+    void replayParkedNackTest() throws Exception {
+        Channel channel = parkedChannel();
+        ack = false;
+
+        assertThatThrownBy(() -> router.replayParked(10))
+                .isInstanceOf(AmqpException.class)
+                .hasMessageContaining("fila cheia");
+
+        verify(channel).basicNack(7L, false, true);
+        verify(channel, never()).basicAck(anyLong(), anyBoolean());
+    }
+
+    @SuppressWarnings("unchecked")
+    private Channel parkedChannel() throws Exception {
+        Channel channel = mock(Channel.class);
+        AMQP.BasicProperties props = new AMQP.BasicProperties.Builder()
+                .headers(Map.of(TaskRetryRouter.ORIGINAL_QUEUE_HEADER, RabbitConfig.TASK_DELETED_QUEUE,
+                        TaskRetryRouter.RETRY_COUNT_HEADER, 3))
+                .build();
+        when(channel.basicGet(RabbitConfig.TASK_PARKING_LOT_QUEUE, false))
+                .thenReturn(new GetResponse(new Envelope(7L, false, "", RabbitConfig.TASK_PARKING_LOT_QUEUE), props, new byte[0], 0))
+                .thenReturn(null);
+        when(rabbitTemplate.execute(any(ChannelCallback.class)))
+                .thenAnswer(invocation -> ((ChannelCallback<Integer>) invocation.getArgument(0)).doInRabbit(channel));
+
+        return channel;
+    }
+
+    private static Message message(String queue) {
+        MessageProperties properties = new MessageProperties();
+        properties.setConsumerQueue(queue);
+        properties.setMessageId("evento-1");
+
+        return new Message(new byte[0], properties);
+    }
+}
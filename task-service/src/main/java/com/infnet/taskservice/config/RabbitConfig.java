@@ -0,0 +1,41 @@
+package com.infnet.taskservice.config;
+
+import org.springframework.amqp.core.Binding;
+import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.DirectExchange;
+import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.core.QueueBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class RabbitConfig {
+    public static final String PROJECT_EXCHANGE = "project-exc";
+    public static final String PROJECT_CHANGED_ROUTING_KEY = "project-changed-rk";
+    public static final String PROJECT_CHANGED_QUEUE = "project-changed-task-queue";
+    public static final String PROJECT_CHANGED_DLQ = "project-changed-task-dlq";
+
+    @Bean
+    public DirectExchange projectExchange() {
+        return new DirectExchange(PROJECT_EXCHANGE);
+    }
+
+    /* Mensagens recusadas depois das retentativas do container vão para a DLQ; os argumentos devem ser os mesmos de compose/definitions.json */
+    @Bean
+    public Queue projectChangedQueue() {
+        return QueueBuilder.durable(PROJECT_CHANGED_QUEUE)
+                .deadLetterExchange("")
+                .deadLetterRoutingKey(PROJECT_CHANGED_DLQ)
+                .build();
+    }
+
+    @Bean
+    public Queue projectChangedDeadLetterQueue() {
+        return new Queue(PROJECT_CHANGED_DLQ);
+    }
+
+    @Bean
+    public Binding projectChangedBinding(Queue projectChangedQueue, DirectExchange projectExchange) {
+        return BindingBuilder.bind(projectChangedQueue).to(projectExchange).with(PROJECT_CHANGED_ROUTING_KEY);
+    }
+}
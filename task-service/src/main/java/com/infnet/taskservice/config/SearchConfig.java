@@ -0,0 +1,14 @@
+package com.infnet.taskservice.config;
+
+import com.infnet.search.NameSearchIndex;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class SearchConfig {
+
+    @Bean
+    public NameSearchIndex nameSearchIndex() {
+        return new NameSearchIndex();
+    }
+}
@@ -0,0 +1,52 @@
+package com.infnet.taskservice.controller;
+
+import com.infnet.taskservice.model.ProjectRollup;
+import com.infnet.taskservice.service.ProjectRollupService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RequiredArgsConstructor
+@RestController
+@RequestMapping("/api/tasks/rollups")
+@Tag(name = "Totais por projeto", description = "API para consulta dos totais das tarefas de cada projeto")
+public class ProjectRollupController {
+    private final ProjectRollupService projectRollupService;
+
+    @Operation(summary = "Busca os totais de um projeto", description = "Retorna a soma de orçamento, o custo estimado e a contagem de tarefas ativas e inativas do projeto")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Totais encontrados com sucesso", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ProjectRollup.class))),
+            @ApiResponse(responseCode = "400", description = "Erro na busca dos totais", content = @Content)
+    })
+    @GetMapping("/{projectId}")
+    public ResponseEntity<?> findByProjectId(@PathVariable Long projectId) {
+        try {
+            return new ResponseEntity<>(projectRollupService.findByProjectId(projectId), HttpStatus.OK);
+        } catch (Exception e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    @Operation(summary = "Recalcula os totais", description = "Recalcula em paralelo os totais de todos os projetos a partir da tabela de tarefas")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Totais recalculados com sucesso", content = @Content(mediaType = "application/json")),
+            @ApiResponse(responseCode = "400", description = "Erro ao recalcular os totais", content = @Content)
+    })
+    @PostMapping("/rebuild")
+    public ResponseEntity<?> rebuild() {
+        try {
+            return new ResponseEntity<>(Map.of("projects", projectRollupService.rebuild()), HttpStatus.OK);
+        } catch (Exception e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+        }
+    }
+}
@@ -1,8 +1,13 @@
 package com.infnet.taskservice.controller;
 
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.infnet.search.NameMatch;
 import com.infnet.taskservice.model.Task;
+import com.infnet.taskservice.model.TaskImportResult;
+import com.infnet.taskservice.model.TaskPage;
+import com.infnet.taskservice.service.ProjectService;
 import com.infnet.taskservice.service.TaskService;
-import com.infnet.taskservice.service.feign.ProjectClient;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -11,9 +16,20 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
 
 @RequiredArgsConstructor
 @RestController
@@ -22,18 +38,31 @@ import org.springframework.web.bind.annotation.*;
 public class TaskController {
     private final TaskService taskService;
 
-    private final ProjectClient projectClient;
+    private final ProjectService projectService;
+
+    private final ObjectMapper objectMapper;
 
-    @Operation(summary = "Busca todos as tarefas", description = "Retorna a lista de todas as tarefas cadastradas")
+    @Operation(summary = "Busca todos as tarefas", description = "Retorna uma página de tarefas ordenada por ID a partir do cursor informado. " +
+            "Com Accept: application/x-ndjson, transmite todas as tarefas a partir do cursor, uma por linha")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Lista de tarefas encontrada com sucesso",
-                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = Task.class))),
+            @ApiResponse(responseCode = "200", description = "Lista de tarefas encontrada com sucesso", content = {
+                    @Content(mediaType = "application/json", schema = @Schema(implementation = TaskPage.class)),
+                    @Content(mediaType = "application/x-ndjson", schema = @Schema(implementation = Task.class))}),
             @ApiResponse(responseCode = "400", description = "Erro na busca das tarefas", content = @Content)
     })
     @GetMapping("/")
-    public ResponseEntity<?> findAll() {
+    public ResponseEntity<?> findAll(@RequestParam(required = false) Long cursor,
+                                     @RequestParam(required = false) Integer size,
+                                     @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
         try {
-            return new ResponseEntity<>(taskService.findAll(), HttpStatus.OK);
+            TaskPage page = taskService.findAll(cursor, size);
+
+            if (accept != null && accept.contains(MediaType.APPLICATION_NDJSON_VALUE)) {
+                StreamingResponseBody body = out -> writeNdjson(out, page);
+                return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+            }
+
+            return new ResponseEntity<>(page, HttpStatus.OK);
         } catch (Exception e) {
             return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
         }
@@ -69,6 +98,21 @@ public class TaskController {
         }
     }
 
+    @Operation(summary = "Pesquisa tarefas pelo nome", description = "Busca por prefixo e aproximada no nome das tarefas, ordenada por relevância")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Pesquisa realizada com sucesso",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = NameMatch.class))),
+            @ApiResponse(responseCode = "400", description = "Erro na pesquisa das tarefas", content = @Content)
+    })
+    @GetMapping("/search")
+    public ResponseEntity<?> search(@RequestParam("q") String query, @RequestParam(required = false) Integer limit) {
+        try {
+            return new ResponseEntity<>(taskService.search(query, limit), HttpStatus.OK);
+        } catch (Exception e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+        }
+    }
+
     @Operation(summary = "Cria uma nova tarefa", description = "Cria uma nova tarefa")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Tarefa criada com sucesso",
@@ -78,7 +122,7 @@ public class TaskController {
     @PostMapping("/")
     public ResponseEntity<?> create(@RequestBody Task task) {
         try {
-            String name = projectClient.findById(task.getProjectId()).getName();
+            String name = projectService.findById(task.getProjectId()).getName();
 
             task.setProjectName(name);
 
@@ -88,6 +132,36 @@ public class TaskController {
         }
     }
 
+    @Operation(summary = "Importa tarefas em lote", description = "Cria várias tarefas a partir de um array JSON, validando cada linha e informando o resultado de cada uma")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Importação processada",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = TaskImportResult.class))),
+            @ApiResponse(responseCode = "400", description = "Erro na importação das tarefas", content = @Content)
+    })
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<?> createAll(@RequestBody List<Task> tasks) {
+        try {
+            return new ResponseEntity<>(taskService.createAll(tasks.iterator()), HttpStatus.OK);
+        } catch (Exception e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    @Operation(summary = "Importa tarefas em lote via NDJSON", description = "Cria várias tarefas lidas de um fluxo NDJSON, uma por linha, sem carregar o corpo inteiro em memória")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Importação processada",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = TaskImportResult.class))),
+            @ApiResponse(responseCode = "400", description = "Erro na importação das tarefas", content = @Content)
+    })
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<?> createAllStream(InputStream body) {
+        try (MappingIterator<Task> tasks = objectMapper.readerFor(Task.class).readValues(body)) {
+            return new ResponseEntity<>(taskService.createAll(tasks), HttpStatus.OK);
+        } catch (Exception e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+        }
+    }
+
     @Operation(summary = "Atualiza uma tarefa existente", description = "Atualiza as informações de uma tarefa pelo seu ID")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Tarefa atualizada com sucesso",
@@ -103,6 +177,21 @@ public class TaskController {
         }
     }
 
+    @Operation(summary = "Atualiza parcialmente uma tarefa", description = "Altera apenas os campos informados da tarefa pelo seu ID")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Tarefa atualizada com sucesso",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = Task.class))),
+            @ApiResponse(responseCode = "400", description = "Erro na atualização da tarefa", content = @Content)
+    })
+    @PatchMapping("/{id}")
+    public ResponseEntity<?> patch(@PathVariable Long id, @RequestBody Task task) {
+        try {
+            return new ResponseEntity<>(taskService.update(id, task), HttpStatus.OK);
+        } catch (Exception e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+        }
+    }
+
     @Operation(summary = "Deleta uma tarefa", description = "Remove uma tarefa pelo seu ID")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Tarefa deletada com sucesso",
@@ -117,4 +206,66 @@ public class TaskController {
             return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
         }
     }
+
+    @Operation(summary = "Deleta tarefas em lote", description = "Remove as tarefas cujos IDs foram informados e retorna a quantidade excluída")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Tarefas deletadas com sucesso", content = @Content(mediaType = "application/json")),
+            @ApiResponse(responseCode = "400", description = "Erro ao deletar as tarefas", content = @Content)
+    })
+    @DeleteMapping("/batch")
+    public ResponseEntity<?> deleteAll(@RequestBody List<Long> ids) {
+        try {
+            return new ResponseEntity<>(Map.of("deleted", taskService.deleteAll(ids)), HttpStatus.OK);
+        } catch (Exception e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    @Operation(summary = "Deleta as tarefas de um projeto", description = "Remove todas as tarefas do projeto e retorna a quantidade excluída")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Tarefas deletadas com sucesso", content = @Content(mediaType = "application/json")),
+            @ApiResponse(responseCode = "400", description = "Erro ao deletar as tarefas", content = @Content)
+    })
+    @DeleteMapping("/project/{projectId}")
+    public ResponseEntity<?> deleteByProjectId(@PathVariable Long projectId) {
+        try {
+            return new ResponseEntity<>(Map.of("deleted", taskService.deleteByProjectId(projectId)), HttpStatus.OK);
+        } catch (Exception e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    @Operation(summary = "Deleta tarefas inativas", description = "Remove as tarefas inativas sem alteração desde a data informada e retorna a quantidade excluída")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Tarefas deletadas com sucesso", content = @Content(mediaType = "application/json")),
+            @ApiResponse(responseCode = "400", description = "Erro ao deletar as tarefas", content = @Content)
+    })
+    @DeleteMapping("/inactive")
+    public ResponseEntity<?> deleteInactive(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime before) {
+        try {
+            return new ResponseEntity<>(Map.of("deleted", taskService.deleteInactiveBefore(before)), HttpStatus.OK);
+        } catch (Exception e) {
+            return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    private void writeNdjson(OutputStream out, TaskPage page) throws IOException {
+        while (true) {
+            for (Task task : page.getContent()) {
+                out.write(objectMapper.writeValueAsBytes(task));
+                out.write('\n');
+            }
+            out.flush();
+
+            if (page.getNextCursor() == null) {
+                return;
+            }
+
+            try {
+                page = taskService.findAll(page.getNextCursor(), page.getSize());
+            } catch (Exception e) {
+                throw new IOException(e.getMessage(), e);
+            }
+        }
+    }
 }
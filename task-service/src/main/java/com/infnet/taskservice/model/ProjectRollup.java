@@ -0,0 +1,68 @@
+package com.infnet.taskservice.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Entity
+@Table(name = "\"project_rollup\"")
+public class ProjectRollup {
+    @Id
+    @Column(name = "project_id")
+    private Long projectId;
+
+    /* Soma de budget das tarefas do projeto */
+    @Column(name = "total_budget")
+    private Double totalBudget;
+
+    /* Soma de hourlyRate * estimatedHours das tarefas do projeto */
+    @Column(name = "total_cost")
+    private Double totalCost;
+
+    @Column(name = "active_tasks")
+    private Long activeTasks;
+
+    @Column(name = "inactive_tasks")
+    private Long inactiveTasks;
+
+    public static ProjectRollup empty(Long projectId) {
+        return new ProjectRollup(projectId, 0d, 0d, 0L, 0L);
+    }
+
+    /* Contribuição de uma única tarefa para o total do projeto */
+    public static ProjectRollup of(Task task) {
+        boolean active = Boolean.TRUE.equals(task.getActive());
+        double cost = task.getHourlyRate() == null || task.getEstimatedHours() == null
+                ? 0d
+                : (double) task.getHourlyRate() * task.getEstimatedHours();
+
+        return new ProjectRollup(
+                task.getProjectId(),
+                task.getBudget() == null ? 0d : task.getBudget(),
+                cost,
+                active ? 1L : 0L,
+                active ? 0L : 1L);
+    }
+
+    public ProjectRollup plus(ProjectRollup other) {
+        return new ProjectRollup(
+                projectId,
+                totalBudget + other.totalBudget,
+                totalCost + other.totalCost,
+                activeTasks + other.activeTasks,
+                inactiveTasks + other.inactiveTasks);
+    }
+
+    public ProjectRollup negate() {
+        return new ProjectRollup(projectId, -totalBudget, -totalCost, -activeTasks, -inactiveTasks);
+    }
+}
@@ -18,10 +18,11 @@ import java.util.Date;
 @NoArgsConstructor
 @Builder
 @Entity
-@Table(name = "\"task\"")
+@Table(name = "\"task\"", indexes = @Index(name = "idx_task_name", columnList = "name"))
 public class Task {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "task_seq")
+    @SequenceGenerator(name = "task_seq", sequenceName = "task_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "Nome é obrigatório")
@@ -60,6 +61,10 @@ public class Task {
     @Column(name = "project_name")
     private String projectName;
 
+    /* Data da renomeação que gerou projectName; renomeações mais antigas são ignoradas */
+    @Column(name = "project_name_changed_at")
+    private LocalDateTime projectNameChangedAt;
+
     @PrePersist
     void createdAt() {
         this.createdAt = this.updatedAt = LocalDateTime.now();
@@ -0,0 +1,21 @@
+package com.infnet.taskservice.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class TaskImportResult {
+    /* Posição da tarefa no corpo da requisição, começando em 0 */
+    private Integer index;
+
+    private Long id;
+
+    private Boolean success;
+
+    private String message;
+}
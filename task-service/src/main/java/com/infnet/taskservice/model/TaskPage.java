@@ -0,0 +1,21 @@
+package com.infnet.taskservice.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class TaskPage {
+    private List<Task> content;
+
+    private Integer size;
+
+    /* ID da última tarefa da página; nulo quando não há mais páginas */
+    private Long nextCursor;
+}
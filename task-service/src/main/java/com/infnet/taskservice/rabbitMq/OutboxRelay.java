@@ -0,0 +1,174 @@
+package com.infnet.taskservice.rabbitMq;
+
+import com.infnet.taskservice.model.OutboxEvent;
+import com.infnet.taskservice.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drena a tabela de outbox para o RabbitMQ. Cada lane cuida das partições com
+ * {@code partição % parallelism == lane}; como a partição vem do ID da tarefa, todos os
+ * eventos de uma tarefa passam pela mesma lane e as lanes nunca disputam as mesmas linhas.
+ *
+ * <p>Dentro da lane, um evento só é enviado depois que o anterior da mesma partição foi
+ * confirmado, e no primeiro evento não confirmado o ciclo para. Assim criação, atualização e
+ * exclusão de uma tarefa chegam ao consumidor na ordem em que foram gravadas.
+ */
+@Log4j2
+@Component
+public class OutboxRelay {
+    private final OutboxEventRepository outboxEventRepository;
+    private final TaskProducer taskProducer;
+    private final int batchSize;
+    private final int parallelism;
+    private final ExecutorService executor;
+
+    private final AtomicLong lagMillis = new AtomicLong();
+    private final AtomicLong pending = new AtomicLong();
+    private final Counter published;
+
+    public OutboxRelay(OutboxEventRepository outboxEventRepository,
+                       TaskProducer taskProducer,
+                       MeterRegistry meterRegistry,
+                       @Value("${task.outbox.batch-size:200}") int batchSize,
+                       @Value("${task.outbox.parallelism:2}") int parallelism) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.taskProducer = taskProducer;
+        this.batchSize = batchSize;
+        this.parallelism = parallelism;
+        this.executor = Executors.newFixedThreadPool(parallelism);
+
+        Gauge.builder("task.outbox.lag", lagMillis, AtomicLong::get)
+                .description("Idade do evento mais antigo ainda não publicado")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+        Gauge.builder("task.outbox.pending", pending, AtomicLong::get)
+                .description("Eventos aguardando publicação")
+                .register(meterRegistry);
+        this.published = Counter.builder("task.outbox.published")
+                .description("Eventos publicados pelo relay")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${task.outbox.poll-interval-ms:500}")
+    public void relay() {
+        updateMetrics();
+
+        List<Future<Integer>> lanes = new ArrayList<>(parallelism);
+        for (int lane = 0; lane < parallelism; lane++) {
+            int actLane = lane;
+            lanes.add(executor.submit(() -> drain(actLane)));
+        }
+
+        int total = 0;
+        for (Future<Integer> lane : lanes) {
+            try {
+                total += lane.get();
+            } catch (ExecutionException e) {
+                log.error("Erro ao publicar eventos da outbox: {}", e.getCause().getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+
+        if (total > 0) {
+            log.info("{} eventos da outbox publicados.", total);
+            updateMetrics();
+        }
+    }
+
+    private int drain(int lane) {
+        int total = 0;
+        List<OutboxEvent> batch;
+
+        do {
+            batch = outboxEventRepository.findPending(parallelism, lane, Limit.of(batchSize));
+            if (batch.isEmpty()) {
+                break;
+            }
+
+            int confirmed = publishInOrder(batch);
+            total += confirmed;
+
+            if (confirmed < batch.size()) {
+                break;
+            }
+        } while (batch.size() == batchSize);
+
+        return total;
+    }
+
+    /*
+     * Envia o lote em rodadas com no máximo um evento por partição e espera as confirmações de
+     * cada rodada antes da seguinte. Só saem da outbox os eventos confirmados; como cada um é o
+     * mais antigo da sua partição, o que fica para trás é sempre o início de uma partição.
+     */
+    private int publishInOrder(List<OutboxEvent> batch) {
+        int total = 0;
+        int next = 0;
+
+        while (next < batch.size()) {
+            List<OutboxEvent> round = new ArrayList<>();
+            Set<Integer> partitions = new HashSet<>();
+            while (next < batch.size() && partitions.add(batch.get(next).getPartitionKey())) {
+                round.add(batch.get(next++));
+            }
+
+            List<CompletableFuture<Void>> confirms = round.stream().map(taskProducer::send).toList();
+
+            List<Long> confirmed = new ArrayList<>(round.size());
+            for (int i = 0; i < round.size(); i++) {
+                try {
+                    confirms.get(i).join();
+                    confirmed.add(round.get(i).getId());
+                } catch (CompletionException e) {
+                    log.warn("Evento {} permanece na outbox: {}", round.get(i).getId(), e.getCause().getMessage());
+                }
+            }
+            outboxEventRepository.deleteAllByIdInBatch(confirmed);
+
+            published.increment(confirmed.size());
+            total += confirmed.size();
+
+            if (confirmed.size() < round.size()) {
+                break;
+            }
+        }
+
+        return total;
+    }
+
+    private void updateMetrics() {
+        pending.set(outboxEventRepository.count());
+        lagMillis.set(outboxEventRepository.findOldestCreatedAt()
+                .map(oldest -> Duration.between(oldest, LocalDateTime.now()).toMillis())
+                .orElse(0L));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+}
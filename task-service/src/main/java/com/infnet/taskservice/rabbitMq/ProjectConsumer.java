@@ -0,0 +1,41 @@
+package com.infnet.taskservice.rabbitMq;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.infnet.events.ProjectChangedEvent;
+import com.infnet.taskservice.config.RabbitConfig;
+import com.infnet.taskservice.service.TaskService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.amqp.AmqpRejectAndDontRequeueException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+@Log4j2
+@Component
+@RequiredArgsConstructor
+public class ProjectConsumer {
+    private final TaskService taskService;
+    private final ObjectMapper objectMapper;
+
+    /* Falhas do banco são tentadas de novo algumas vezes pelo container e depois vão para a DLQ;
+       a renomeação é idempotente e eventos antigos não sobrescrevem um nome mais novo */
+    @RabbitListener(queues = { RabbitConfig.PROJECT_CHANGED_QUEUE })
+    public void receiveChanged(Message message) {
+        ProjectChangedEvent event;
+        try {
+            event = objectMapper.readValue(message.getBody(), ProjectChangedEvent.class);
+        } catch (IOException e) {
+            throw new AmqpRejectAndDontRequeueException("Mensagem de projeto inválida: " + e.getMessage(), e);
+        }
+
+        if (event.projectId() == null || event.name() == null || event.updatedAt() == null) {
+            throw new AmqpRejectAndDontRequeueException("Evento de projeto sem ID, nome ou data");
+        }
+
+        int renamed = taskService.renameProject(event.projectId(), event.name(), event.updatedAt());
+        log.info("{} tarefas atualizadas com o novo nome do projeto {}.", renamed, event.projectId());
+    }
+}
@@ -4,32 +4,172 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.infnet.events.EventContentTypes;
+import com.infnet.events.TaskEvent;
+import com.infnet.events.TaskEventCodec;
+import com.infnet.events.TasksDeletedEvent;
+import com.infnet.taskservice.model.OutboxEvent;
 import com.infnet.taskservice.model.Task;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
-import org.springframework.amqp.core.AmqpTemplate;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Publica eventos de forma assíncrona com publisher confirms correlacionados. Até
+ * {@code max-in-flight} mensagens ficam aguardando confirmação ao mesmo tempo; mensagens
+ * com nack, sem rota ou sem confirmação no prazo falham o futuro e ficam na outbox, de onde
+ * o {@link OutboxRelay} as reenvia na ordem original.
+ */
 @Log4j2
 @Service
-@RequiredArgsConstructor
 public class    TaskProducer {
-    private final AmqpTemplate amqp;
+    private static final String EXCHANGE = "task-exc";
+    private static final String ROUTING_KEY = "task-rk";
+    private static final String DELETED_ROUTING_KEY = "task-deleted-rk";
+    private static final String UPDATED_ROUTING_KEY = "task-updated-rk";
+
+    private final RabbitTemplate amqp;
     private final ObjectMapper objectMapper = new ObjectMapper()
             .registerModule(new JavaTimeModule())
             .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
             .setDateFormat(new java.text.SimpleDateFormat("dd/MM/yyyy HH:mm:ss"));
 
-    public void send(Task task) throws JsonProcessingException {
+    /* "json" é o padrão até todos os consumidores aceitarem o codec; "binary" usa o codec compartilhado */
+    private final boolean binaryEvents;
+    private final Semaphore inFlight;
+    private final Duration confirmTimeout;
+
+    public TaskProducer(RabbitTemplate amqp,
+                        @Value("${task.events.format:json}") String eventFormat,
+                        @Value("${task.publisher.max-in-flight:256}") int maxInFlight,
+                        @Value("${task.publisher.confirm-timeout:5s}") Duration confirmTimeout) {
+        this.amqp = amqp;
+        this.binaryEvents = "binary".equalsIgnoreCase(eventFormat);
+        this.inFlight = new Semaphore(maxInFlight);
+        this.confirmTimeout = confirmTimeout;
+    }
+
+    public OutboxEvent toCreatedEvent(Task task) throws JsonProcessingException {
+        return toOutboxEvent(task, ROUTING_KEY);
+    }
+
+    /* Mesmo formato da criação com o estado já atualizado; o consumidor calcula a diferença com a sua cópia */
+    public OutboxEvent toUpdatedEvent(Task task) throws JsonProcessingException {
+        return toOutboxEvent(task, UPDATED_ROUTING_KEY);
+    }
+
+    private OutboxEvent toOutboxEvent(Task task, String routingKey) throws JsonProcessingException {
+        OutboxEvent.OutboxEventBuilder event = OutboxEvent.builder()
+                .aggregateId(task.getId())
+                .routingKey(routingKey);
+
+        if (binaryEvents) {
+            return event.payload(TaskEventCodec.encode(toTaskEvent(task)))
+                    .contentType(EventContentTypes.TASK_EVENT_BINARY)
+                    .build();
+        }
+
         try {
-            String taskJson = objectMapper.writeValueAsString(task);
-            log.debug("Tarefa serializada para JSON: {}", taskJson);
+            byte[] taskJson = objectMapper.writeValueAsBytes(task);
+            log.debug("Tarefa serializada para JSON: {}", task);
 
-            amqp.convertAndSend("task-exc", "task-rk", taskJson);
-            log.info("Tarefa enviada com sucesso para o RabbitMQ com a chave de roteamento 'task-rk'");
+            return event.payload(taskJson)
+                    .contentType(EventContentTypes.JSON)
+                    .build();
         } catch (JsonProcessingException e) {
             log.error("Falha ao serializar a tarefa: {}", task, e);
             throw e;
         }
     }
+
+    /* Um evento por partição, para que a exclusão de cada tarefa siga na mesma ordem dos seus outros eventos */
+    public List<OutboxEvent> toDeletedEvents(List<Long> taskIds) {
+        Map<Integer, List<Long>> byPartition = taskIds.stream()
+                .collect(Collectors.groupingBy(OutboxEvent::partitionOf, TreeMap::new, Collectors.toList()));
+
+        List<OutboxEvent> events = new ArrayList<>(byPartition.size());
+        byPartition.forEach((partition, ids) -> {
+            try {
+                events.add(OutboxEvent.builder()
+                        .partitionKey(partition)
+                        .routingKey(DELETED_ROUTING_KEY)
+                        .payload(objectMapper.writeValueAsBytes(new TasksDeletedEvent(ids)))
+                        .contentType(EventContentTypes.JSON)
+                        .build());
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException("Erro: Falha ao serializar a exclusão de " + ids.size() + " tarefas", e);
+            }
+        });
+
+        return events;
+    }
+
+    /* Falhas não são reenviadas aqui; o relay reenvia o evento no próximo ciclo, antes dos que vêm depois dele */
+    public CompletableFuture<Void> send(OutboxEvent event) {
+        CompletableFuture<Void> result = new CompletableFuture<>();
+
+        try {
+            inFlight.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            result.completeExceptionally(e);
+            return result;
+        }
+
+        CorrelationData correlation = new CorrelationData(event.getEventId());
+        correlation.getFuture()
+                .orTimeout(confirmTimeout.toMillis(), TimeUnit.MILLISECONDS)
+                .whenComplete((confirm, error) -> {
+                    inFlight.release();
+
+                    if (error == null && confirm.isAck() && correlation.getReturned() == null) {
+                        result.complete(null);
+                    } else if (error != null) {
+                        fail(event, error.toString(), result);
+                    } else if (correlation.getReturned() != null) {
+                        fail(event, "mensagem sem rota: " + correlation.getReturned().getReplyText(), result);
+                    } else {
+                        fail(event, "nack: " + confirm.getReason(), result);
+                    }
+                });
+
+        try {
+            MessageProperties properties = new MessageProperties();
+            properties.setContentType(event.getContentType());
+            /* O ID do evento, gravado com a outbox, se repete nas reentregas e permite ao consumidor descartar duplicatas */
+            properties.setMessageId(event.getEventId());
+
+            amqp.send(EXCHANGE, event.getRoutingKey(), new Message(event.getPayload(), properties), correlation);
+        } catch (AmqpException e) {
+            correlation.getFuture().completeExceptionally(e);
+        }
+
+        return result;
+    }
+
+    private void fail(OutboxEvent event, String reason, CompletableFuture<Void> result) {
+        log.warn("Evento {} não confirmado: {}", event.getId(), reason);
+        result.completeExceptionally(new AmqpException("Evento " + event.getId() + " não confirmado: " + reason));
+    }
+
+    private TaskEvent toTaskEvent(Task task) {
+        return new TaskEvent(task.getId(), task.getName(), task.getDescription(), task.getObservation(),
+                task.getHourlyRate(), task.getBudget(), task.getEstimatedHours(), task.getActive(),
+                task.getProjectId(), task.getProjectName(), task.getCreatedAt(), task.getUpdatedAt());
+    }
 }
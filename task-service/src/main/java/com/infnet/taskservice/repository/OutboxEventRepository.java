@@ -0,0 +1,19 @@
+package com.infnet.taskservice.repository;
+
+import com.infnet.taskservice.model.OutboxEvent;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+    @Query("SELECT e FROM OutboxEvent e WHERE MOD(e.partitionKey, :lanes) = :lane ORDER BY e.id")
+    List<OutboxEvent> findPending(@Param("lanes") int lanes, @Param("lane") int lane, Limit limit);
+
+    @Query("SELECT MIN(e.createdAt) FROM OutboxEvent e")
+    Optional<LocalDateTime> findOldestCreatedAt();
+}
@@ -0,0 +1,41 @@
+package com.infnet.taskservice.repository;
+
+import com.infnet.taskservice.model.ProjectRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface ProjectRollupRepository extends JpaRepository<ProjectRollup, Long> {
+    @Modifying
+    @Query("UPDATE ProjectRollup r SET r.totalBudget = r.totalBudget + :budget, r.totalCost = r.totalCost + :cost, " +
+            "r.activeTasks = r.activeTasks + :active, r.inactiveTasks = r.inactiveTasks + :inactive " +
+            "WHERE r.projectId = :projectId")
+    int applyDelta(@Param("projectId") Long projectId,
+                   @Param("budget") Double budget,
+                   @Param("cost") Double cost,
+                   @Param("active") Long active,
+                   @Param("inactive") Long inactive);
+
+    @Modifying
+    @Query(value = "INSERT INTO \"project_rollup\" (project_id, total_budget, total_cost, active_tasks, inactive_tasks) " +
+            "VALUES (:projectId, 0, 0, 0, 0)", nativeQuery = true)
+    int insertEmpty(@Param("projectId") Long projectId);
+
+    @Query("SELECT new com.infnet.taskservice.model.ProjectRollup(u.projectId, SUM(u.budget), SUM(u.hourlyRate * u.estimatedHours), " +
+            "SUM(CASE WHEN u.active = true THEN 1L ELSE 0L END), SUM(CASE WHEN u.active = true THEN 0L ELSE 1L END)) " +
+            "FROM Task u WHERE u.id IN :ids GROUP BY u.projectId")
+    List<ProjectRollup> sumByTaskIds(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT new com.infnet.taskservice.model.ProjectRollup(u.projectId, SUM(u.budget), SUM(u.hourlyRate * u.estimatedHours), " +
+            "SUM(CASE WHEN u.active = true THEN 1L ELSE 0L END), SUM(CASE WHEN u.active = true THEN 0L ELSE 1L END)) " +
+            "FROM Task u WHERE MOD(u.projectId, :lanes) = :lane GROUP BY u.projectId")
+    List<ProjectRollup> sumByLane(@Param("lanes") int lanes, @Param("lane") int lane);
+
+    @Modifying
+    @Query("DELETE FROM ProjectRollup r WHERE MOD(r.projectId, :lanes) = :lane")
+    int deleteByLane(@Param("lanes") int lanes, @Param("lane") int lane);
+}
@@ -1,13 +1,50 @@
 package com.infnet.taskservice.repository;
 
 import com.infnet.taskservice.model.Task;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
-public interface TaskRepository extends JpaRepository<Task, Long> {
+public interface TaskRepository extends JpaRepository<Task, Long>, TaskRepositoryCustom {
     @Query("SELECT u FROM Task u WHERE u.name = :name")
     List<Task> findByName(@Param("name") String name);
+
+    @Query("SELECT u FROM Task u WHERE u.id > :cursor ORDER BY u.id")
+    List<Task> findPage(@Param("cursor") Long cursor, Limit limit);
+
+    @Query("SELECT u.id AS id, u.name AS name FROM Task u WHERE u.id > :cursor ORDER BY u.id")
+    List<TaskName> findNamePage(@Param("cursor") Long cursor, Limit limit);
+
+    @Query("SELECT u.id FROM Task u WHERE u.id IN :ids ORDER BY u.id")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT u.id FROM Task u WHERE u.projectId = :projectId AND u.id > :cursor ORDER BY u.id")
+    List<Long> findIdsByProjectId(@Param("projectId") Long projectId, @Param("cursor") Long cursor, Limit limit);
+
+    @Query("SELECT u.id FROM Task u WHERE u.active = false AND u.updatedAt < :before AND u.id > :cursor ORDER BY u.id")
+    List<Long> findInactiveIdsBefore(@Param("before") LocalDateTime before, @Param("cursor") Long cursor, Limit limit);
+
+    @Modifying
+    @Query("DELETE FROM Task u WHERE u.id IN :ids")
+    int deleteAllByIdIn(@Param("ids") Collection<Long> ids);
+
+    /* Só altera as cópias que ainda têm outro nome, então reaplicar o mesmo evento não muda nada */
+    @Modifying
+    @Query("UPDATE Task u SET u.projectName = :projectName, u.projectNameChangedAt = :changedAt WHERE u.projectId = :projectId " +
+            "AND (u.projectNameChangedAt IS NULL OR u.projectNameChangedAt < :changedAt)")
+    int renameProject(@Param("projectId") Long projectId,
+                      @Param("projectName") String projectName,
+                      @Param("changedAt") LocalDateTime changedAt);
+
+    interface TaskName {
+        Long getId();
+
+        String getName();
+    }
 }
@@ -0,0 +1,12 @@
+package com.infnet.taskservice.repository;
+
+import com.infnet.taskservice.model.Task;
+
+public interface TaskRepositoryCustom {
+    /**
+     * Atualiza em um único UPDATE apenas os campos não nulos de {@code changes}.
+     *
+     * @return quantidade de linhas alteradas (0 quando a tarefa não existe)
+     */
+    int updateNonNullFields(Long id, Task changes);
+}
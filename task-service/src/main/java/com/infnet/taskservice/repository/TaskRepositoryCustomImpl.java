@@ -0,0 +1,48 @@
+package com.infnet.taskservice.repository;
+
+import com.infnet.taskservice.model.Task;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Root;
+
+import java.time.LocalDateTime;
+
+public class TaskRepositoryCustomImpl implements TaskRepositoryCustom {
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public int updateNonNullFields(Long id, Task changes) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<Task> update = builder.createCriteriaUpdate(Task.class);
+        Root<Task> task = update.from(Task.class);
+
+        if (changes.getName() != null) {
+            update.set("name", changes.getName());
+        }
+        if (changes.getDescription() != null) {
+            update.set("description", changes.getDescription());
+        }
+        if (changes.getObservation() != null) {
+            update.set("observation", changes.getObservation());
+        }
+        if (changes.getHourlyRate() != null) {
+            update.set("hourlyRate", changes.getHourlyRate());
+        }
+        if (changes.getBudget() != null) {
+            update.set("budget", changes.getBudget());
+        }
+        if (changes.getEstimatedHours() != null) {
+            update.set("estimatedHours", changes.getEstimatedHours());
+        }
+        if (changes.getActive() != null) {
+            update.set("active", changes.getActive());
+        }
+        update.set("updatedAt", LocalDateTime.now());
+        update.where(builder.equal(task.get("id"), id));
+
+        return entityManager.createQuery(update).executeUpdate();
+    }
+}
@@ -0,0 +1,16 @@
+package com.infnet.taskservice.service;
+
+import com.infnet.taskservice.model.ProjectRollup;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface ProjectRollupService {
+    ProjectRollup findByProjectId(Long projectId);
+
+    List<ProjectRollup> sumByTaskIds(Collection<Long> taskIds);
+
+    void apply(Collection<ProjectRollup> deltas);
+
+    int rebuild() throws Exception;
+}
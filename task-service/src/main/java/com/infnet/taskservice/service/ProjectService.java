@@ -2,6 +2,13 @@ package com.infnet.taskservice.service;
 
 import com.infnet.taskservice.model.Project;
 
+import java.util.Collection;
+import java.util.Map;
+
 public interface ProjectService {
     Project findById(Long id);
+
+    Map<Long, Project> findAllById(Collection<Long> ids);
+
+    void evict(Long id);
 }
@@ -1,21 +1,39 @@
 package com.infnet.taskservice.service;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.infnet.search.NameMatch;
 import com.infnet.taskservice.model.Task;
+import com.infnet.taskservice.model.TaskImportResult;
+import com.infnet.taskservice.model.TaskPage;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
 
 public interface TaskService {
-    List<Task> findAll() throws Exception;
+    TaskPage findAll(Long cursor, Integer size) throws Exception;
 
     Optional<Task> findById(Long id) throws Exception;
 
     List<Task> findByName(String name) throws Exception;
 
+    List<NameMatch> search(String query, Integer limit);
+
     Task create(Task task) throws JsonProcessingException;
 
+    List<TaskImportResult> createAll(Iterator<Task> tasks) throws Exception;
+
     Optional<Task> update(Long id, Task task) throws Exception;
 
     Optional<Task> delete(Long id) throws Exception;
+
+    long deleteAll(Collection<Long> ids) throws Exception;
+
+    long deleteByProjectId(Long projectId) throws Exception;
+
+    long deleteInactiveBefore(LocalDateTime before) throws Exception;
+
+    int renameProject(Long projectId, String projectName, LocalDateTime changedAt);
 }
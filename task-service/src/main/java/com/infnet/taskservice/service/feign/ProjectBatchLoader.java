@@ -0,0 +1,125 @@
+package com.infnet.taskservice.service.feign;
+
+import com.infnet.taskservice.model.Project;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Agrupa buscas individuais de projetos feitas ao mesmo tempo em uma única chamada ao
+ * multi-get do serviço de projetos. A primeira busca abre uma janela de {@code window};
+ * tudo o que chegar até o fim dela, ou até completar {@code max-size} IDs, vai na mesma chamada.
+ *
+ * <p>O agendador só marca o fim das janelas; as chamadas HTTP rodam em um pool próprio com
+ * fila limitada. Com a fila cheia o lote falha na hora, em vez de acumular chamadas atrasadas.
+ */
+@Log4j2
+@Component
+public class ProjectBatchLoader {
+    private final ProjectClient projectClient;
+    private final Duration window;
+    private final int maxBatchSize;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+    private final ThreadPoolExecutor fetcher;
+
+    private Map<Long, CompletableFuture<Optional<Project>>> pending = new HashMap<>();
+
+    public ProjectBatchLoader(ProjectClient projectClient,
+                              @Value("${task.project-batch.window:5ms}") Duration window,
+                              @Value("${task.project-batch.max-size:200}") int maxBatchSize,
+                              @Value("${task.project-batch.fetch-threads:4}") int fetchThreads,
+                              @Value("${task.project-batch.queue-capacity:64}") int queueCapacity) {
+        this.projectClient = projectClient;
+        this.window = window;
+        this.maxBatchSize = maxBatchSize;
+        this.fetcher = new ThreadPoolExecutor(fetchThreads, fetchThreads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        scheduler.shutdown();
+        fetcher.shutdown();
+    }
+
+    public CompletableFuture<Optional<Project>> load(Long id) {
+        CompletableFuture<Optional<Project>> result;
+        boolean full;
+
+        synchronized (this) {
+            CompletableFuture<Optional<Project>> existing = pending.get(id);
+            if (existing != null) {
+                return existing;
+            }
+
+            result = new CompletableFuture<>();
+            pending.put(id, result);
+
+            if (pending.size() == 1) {
+                scheduler.schedule(this::flush, window.toNanos(), TimeUnit.NANOSECONDS);
+            }
+            full = pending.size() >= maxBatchSize;
+        }
+
+        if (full) {
+            flush();
+        }
+        return result;
+    }
+
+    /* Busca direta de vários IDs; IDs inexistentes ficam fora do mapa */
+    public Map<Long, Project> loadAll(Collection<Long> ids) {
+        Map<Long, Project> projects = new HashMap<>();
+        List<Long> idList = List.copyOf(ids);
+
+        for (int from = 0; from < idList.size(); from += maxBatchSize) {
+            projectClient.findAllById(idList.subList(from, Math.min(from + maxBatchSize, idList.size())))
+                    .forEach(project -> projects.put(project.getId(), project));
+        }
+
+        return projects;
+    }
+
+    private void flush() {
+        Map<Long, CompletableFuture<Optional<Project>>> batch;
+        synchronized (this) {
+            if (pending.isEmpty()) {
+                return;
+            }
+            batch = pending;
+            pending = new HashMap<>();
+        }
+
+        try {
+            fetcher.execute(() -> fetch(batch));
+        } catch (RejectedExecutionException e) {
+            log.warn("Fila de buscas de projetos cheia, {} buscas recusadas.", batch.size());
+            batch.values().forEach(result -> result.completeExceptionally(e));
+        }
+    }
+
+    private void fetch(Map<Long, CompletableFuture<Optional<Project>>> batch) {
+        log.info("Buscando {} projetos no serviço de projetos...", batch.size());
+        try {
+            Map<Long, Project> projects = loadAll(batch.keySet());
+            batch.forEach((id, result) -> result.complete(Optional.ofNullable(projects.get(id))));
+        } catch (Exception e) {
+            batch.values().forEach(result -> result.completeExceptionally(e));
+        }
+    }
+}
@@ -4,9 +4,17 @@ import com.infnet.taskservice.model.Project;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+
+import java.util.Collection;
+import java.util.List;
 
 @FeignClient("PROJECT-SERVICE")
 public interface ProjectClient {
     @GetMapping("/api/projects/{id}")
     Project findById(@PathVariable("id") Long id);
+
+    @PostMapping("/api/projects/batch")
+    List<Project> findAllById(@RequestBody Collection<Long> ids);
 }
@@ -0,0 +1,154 @@
+package com.infnet.taskservice.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.infnet.taskservice.model.ProjectRollup;
+import com.infnet.taskservice.repository.ProjectRollupRepository;
+import com.infnet.taskservice.service.ProjectRollupService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PreDestroy;
+import jakarta.transaction.Transactional;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static com.infnet.taskservice.service.support.TransactionCallbacks.afterCommit;
+
+/**
+ * Totais por projeto mantidos por deltas gravados na mesma transação da tarefa.
+ * Um cache limitado guarda o último valor lido da tabela e é invalidado após o commit,
+ * então a leitura custa uma consulta por chave primária apenas na primeira vez. Projetos
+ * sem totais não são guardados, para que IDs arbitrários não ocupem memória.
+ */
+@Service
+@Log4j2
+public class ProjectRollupServiceImpl implements ProjectRollupService {
+    private final ProjectRollupRepository projectRollupRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate newTransaction;
+    private final int rebuildParallelism;
+    private final ExecutorService executor;
+
+    private final Cache<Long, ProjectRollup> rollups;
+
+    public ProjectRollupServiceImpl(ProjectRollupRepository projectRollupRepository,
+                                    TransactionTemplate transactionTemplate,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${task.rollup.rebuild-parallelism:4}") int rebuildParallelism,
+                                    @Value("${task.rollup.cache-max-size:10000}") long cacheMaxSize) {
+        this.projectRollupRepository = projectRollupRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.newTransaction = new TransactionTemplate(Objects.requireNonNull(transactionTemplate.getTransactionManager()));
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.rebuildParallelism = rebuildParallelism;
+        this.executor = Executors.newFixedThreadPool(rebuildParallelism);
+        this.rollups = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, rollups, "project-rollups");
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    @Override
+    public ProjectRollup findByProjectId(Long projectId) {
+        /* Um loader que retorna null não cria entrada no cache */
+        ProjectRollup rollup = rollups.get(projectId, id -> projectRollupRepository.findById(id).orElse(null));
+
+        return rollup != null ? rollup : ProjectRollup.empty(projectId);
+    }
+
+    @Override
+    public List<ProjectRollup> sumByTaskIds(Collection<Long> taskIds) {
+        return projectRollupRepository.sumByTaskIds(taskIds);
+    }
+
+    @Override
+    @Transactional(Transactional.TxType.MANDATORY)
+    public void apply(Collection<ProjectRollup> deltas) {
+        List<Long> projectIds = new ArrayList<>(deltas.size());
+
+        for (ProjectRollup delta : deltas) {
+            /* Tarefas sem projeto não entram em nenhum total */
+            if (delta.getProjectId() == null) {
+                continue;
+            }
+
+            if (applyDelta(delta) == 0) {
+                createIfAbsent(delta.getProjectId());
+                applyDelta(delta);
+            }
+            projectIds.add(delta.getProjectId());
+        }
+
+        /* Invalidar antes do commit deixaria outra leitura recarregar o valor antigo */
+        afterCommit(() -> rollups.invalidateAll(projectIds));
+    }
+
+    private int applyDelta(ProjectRollup delta) {
+        return projectRollupRepository.applyDelta(delta.getProjectId(),
+                delta.getTotalBudget(), delta.getTotalCost(), delta.getActiveTasks(), delta.getInactiveTasks());
+    }
+
+    /*
+     * A linha é criada zerada em transação própria, e o delta é sempre somado pelo UPDATE.
+     * Se outra transação criou a linha primeiro, o INSERT falha e basta seguir com a soma,
+     * em vez de duas transações tentarem inserir o mesmo projeto com seus próprios valores.
+     */
+    private void createIfAbsent(Long projectId) {
+        try {
+            newTransaction.executeWithoutResult(status -> projectRollupRepository.insertEmpty(projectId));
+        } catch (DataIntegrityViolationException e) {
+            log.debug("Totais do projeto {} já criados por outra transação.", projectId);
+        }
+    }
+
+    @Override
+    public int rebuild() throws Exception {
+        log.info("Recalculando totais dos projetos...");
+
+        /* Cada lane recalcula os projetos com projectId % parallelism == lane em sua própria transação */
+        List<Future<Integer>> lanes = new ArrayList<>(rebuildParallelism);
+        for (int lane = 0; lane < rebuildParallelism; lane++) {
+            int actLane = lane;
+            lanes.add(executor.submit(() -> rebuildLane(actLane)));
+        }
+
+        int total = 0;
+        for (Future<Integer> lane : lanes) {
+            total += lane.get();
+        }
+        rollups.invalidateAll();
+
+        log.info("Totais de {} projetos recalculados.", total);
+        return total;
+    }
+
+    private int rebuildLane(int lane) {
+        return Objects.requireNonNull(transactionTemplate.execute(status -> {
+            List<ProjectRollup> sums = projectRollupRepository.sumByLane(rebuildParallelism, lane);
+
+            projectRollupRepository.deleteByLane(rebuildParallelism, lane);
+            projectRollupRepository.saveAll(sums);
+
+            return sums.size();
+        }));
+    }
+}
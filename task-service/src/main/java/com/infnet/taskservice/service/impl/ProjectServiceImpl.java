@@ -1,17 +1,114 @@
 package com.infnet.taskservice.service.impl;
 
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.LoadingCache;
 import com.infnet.taskservice.model.Project;
 import com.infnet.taskservice.service.ProjectService;
-import com.infnet.taskservice.service.feign.ProjectClient;
-import lombok.RequiredArgsConstructor;
+import com.infnet.taskservice.service.feign.ProjectBatchLoader;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletionException;
+
 @Service
-@RequiredArgsConstructor
+@Log4j2
 public class ProjectServiceImpl implements ProjectService {
-    private final ProjectClient projectClient;
+    private final ProjectBatchLoader projectBatchLoader;
+
+    /* Nome do projeto por ID; Optional vazio guarda o resultado negativo para IDs inexistentes */
+    private final LoadingCache<Long, Optional<String>> projectNames;
+
+    public ProjectServiceImpl(ProjectBatchLoader projectBatchLoader,
+                              MeterRegistry meterRegistry,
+                              @Value("${task.project-cache.max-size:10000}") long maxSize,
+                              @Value("${task.project-cache.ttl:10m}") Duration ttl,
+                              @Value("${task.project-cache.negative-ttl:30s}") Duration negativeTtl,
+                              @Value("${task.project-cache.refresh-after:1m}") Duration refreshAfter) {
+        this.projectBatchLoader = projectBatchLoader;
+        this.projectNames = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(Expiry.writing((Long id, Optional<String> name) -> name.isPresent() ? ttl : negativeTtl))
+                .refreshAfterWrite(refreshAfter)
+                .recordStats()
+                .build(new CacheLoader<>() {
+                    @Override
+                    public Optional<String> load(Long id) {
+                        return loadName(id);
+                    }
+
+                    @Override
+                    public Map<Long, Optional<String>> loadAll(Set<? extends Long> ids) {
+                        return loadNames(ids);
+                    }
+                });
+
+        CaffeineCacheMetrics.monitor(meterRegistry, projectNames, "project-names");
+    }
 
+    @Override
     public Project findById(Long id) {
-        return projectClient.findById(id);
+        if (id == null) {
+            throw new IllegalArgumentException("Erro: Informe o ID do projeto.");
+        }
+
+        String name = projectNames.get(id)
+                .orElseThrow(() -> new IllegalArgumentException("Erro: Projeto com ID: " + id + " não encontrado."));
+
+        return new Project(id, name);
+    }
+
+    @Override
+    public Map<Long, Project> findAllById(Collection<Long> ids) {
+        Map<Long, Project> projects = new HashMap<>();
+
+        projectNames.getAll(ids).forEach((id, name) ->
+                name.ifPresent(value -> projects.put(id, new Project(id, value))));
+
+        return projects;
+    }
+
+    /* Chamado ao consumir a renomeação, para que novas tarefas não recebam o nome antigo até o TTL.
+       O nome é buscado de novo em vez de copiado do evento, que pode chegar fora de ordem */
+    @Override
+    public void evict(Long id) {
+        projectNames.invalidate(id);
+    }
+
+    /* Buscas individuais simultâneas, incluindo os refreshes do cache, são agrupadas pelo ProjectBatchLoader */
+    private Optional<String> loadName(Long id) {
+        try {
+            Optional<String> name = projectBatchLoader.load(id).join().map(Project::getName);
+            if (name.isEmpty()) {
+                log.warn("Projeto com ID: {} não encontrado.", id);
+            }
+
+            return name;
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+
+    private Map<Long, Optional<String>> loadNames(Set<? extends Long> ids) {
+        log.info("Buscando {} projetos no serviço de projetos...", ids.size());
+        Map<Long, Project> found = projectBatchLoader.loadAll(List.copyOf(ids));
+
+        Map<Long, Optional<String>> names = new HashMap<>();
+        for (Long id : ids) {
+            names.put(id, Optional.ofNullable(found.get(id)).map(Project::getName));
+        }
+
+        return names;
     }
 }
@@ -1,16 +1,47 @@
 package com.infnet.taskservice.service.impl;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.infnet.search.NameMatch;
+import com.infnet.search.NameSearchIndex;
+import com.infnet.taskservice.model.OutboxEvent;
+import com.infnet.taskservice.model.Project;
+import com.infnet.taskservice.model.ProjectRollup;
 import com.infnet.taskservice.model.Task;
+import com.infnet.taskservice.model.TaskImportResult;
+import com.infnet.taskservice.model.TaskPage;
 import com.infnet.taskservice.rabbitMq.TaskProducer;
+import com.infnet.taskservice.repository.OutboxEventRepository;
 import com.infnet.taskservice.repository.TaskRepository;
+import com.infnet.taskservice.service.ProjectRollupService;
+import com.infnet.taskservice.service.ProjectService;
 import com.infnet.taskservice.service.TaskService;
+import jakarta.persistence.EntityManager;
+import jakarta.transaction.Transactional;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.LongFunction;
+import java.util.stream.Collectors;
+
+import static com.infnet.taskservice.service.support.TransactionCallbacks.afterCommit;
 
 @Service
 @Log4j2
@@ -18,20 +49,67 @@ import java.util.Optional;
 public class TaskServiceImpl implements TaskService {
     private final TaskRepository taskRepository;
     private final TaskProducer taskProducer;
+    private final OutboxEventRepository outboxEventRepository;
+    private final ProjectService projectService;
+    private final ProjectRollupService projectRollupService;
+    private final Validator validator;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final NameSearchIndex nameSearchIndex;
+
+    @Value("${task.page.default-size:50}")
+    private int defaultPageSize;
+
+    @Value("${task.page.max-size:500}")
+    private int maxPageSize;
+
+    @Value("${task.import.chunk-size:500}")
+    private int importChunkSize;
+
+    @Value("${task.delete.chunk-size:1000}")
+    private int deleteChunkSize;
+
+    @Value("${task.search.max-results:50}")
+    private int maxSearchResults;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildNameIndex() {
+        log.info("Indexando nomes das tarefas para busca...");
+
+        List<TaskRepository.TaskName> page;
+        long cursor = 0L;
+        do {
+            page = taskRepository.findNamePage(cursor, Limit.of(maxPageSize));
+            for (TaskRepository.TaskName task : page) {
+                nameSearchIndex.put(task.getId(), task.getName());
+                cursor = task.getId();
+            }
+        } while (page.size() == maxPageSize);
+
+        log.info("{} tarefas indexadas.", nameSearchIndex.size());
+    }
 
     @Override
-    public List<Task> findAll() throws Exception {
-        log.info("Buscando tarefas...");
-        List<Task> tasks = taskRepository.findAll();
+    public TaskPage findAll(Long cursor, Integer size) throws Exception {
+        int pageSize = size == null ? defaultPageSize : Math.min(Math.max(size, 1), maxPageSize);
 
-        if (tasks.isEmpty()) {
+        log.info("Buscando tarefas após o cursor {}...", cursor);
+        List<Task> tasks = taskRepository.findPage(cursor == null ? 0L : cursor, Limit.of(pageSize + 1));
+
+        if (tasks.isEmpty() && cursor == null) {
             log.error("Erro: Nenhuma tarefa encontrada");
             throw new Exception("Erro: Não há tarefas cadastradas.");
         }
 
+        Long nextCursor = null;
+        if (tasks.size() > pageSize) {
+            tasks = tasks.subList(0, pageSize);
+            nextCursor = tasks.get(pageSize - 1).getId();
+        }
+
         log.info("Encontrado {} tarefas.", tasks.size());
 
-        return tasks;
+        return new TaskPage(tasks, pageSize, nextCursor);
     }
 
     @Override
@@ -65,11 +143,25 @@ public class TaskServiceImpl implements TaskService {
     }
 
     @Override
+    public List<NameMatch> search(String query, Integer limit) {
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("Erro: Insira um termo de busca válido.");
+        }
+
+        int maxResults = limit == null ? 10 : Math.min(Math.max(limit, 1), maxSearchResults);
+
+        return nameSearchIndex.search(query, maxResults);
+    }
+
+    @Override
+    @Transactional(rollbackOn = Exception.class)
     public Task create(Task task) throws JsonProcessingException {
         log.info("Criando tarefa...");
 
         Task taskSaved = taskRepository.save(task);
-        taskProducer.send(taskSaved);
+        outboxEventRepository.save(taskProducer.toCreatedEvent(taskSaved));
+        projectRollupService.apply(List.of(ProjectRollup.of(taskSaved)));
+        afterCommit(() -> nameSearchIndex.put(taskSaved.getId(), taskSaved.getName()));
 
         log.info("Tarefa criada com sucesso.");
 
@@ -77,44 +169,174 @@ public class TaskServiceImpl implements TaskService {
     }
 
     @Override
-    public Optional<Task> update(Long id, Task task) throws Exception {
-        log.info("Atualizando tarefa...");
+    public List<TaskImportResult> createAll(Iterator<Task> tasks) throws Exception {
+        log.info("Importando tarefas...");
 
-        Optional<Task> existingTaskOpt = taskRepository.findById(id);
-        if (existingTaskOpt.isEmpty()) {
-            throw new Exception("Erro: Tarefa não encontrada, tente outro ID.");
+        List<TaskImportResult> results = new ArrayList<>();
+        List<Task> chunk = new ArrayList<>(importChunkSize);
+
+        while (tasks.hasNext()) {
+            chunk.add(tasks.next());
+
+            if (chunk.size() == importChunkSize || !tasks.hasNext()) {
+                results.addAll(importChunk(chunk, results.size()));
+                chunk.clear();
+            }
         }
-        Task existingTask = existingTaskOpt.get();
 
-        if (task.getName() != null) {
-            existingTask.setName(task.getName());
+        if (results.isEmpty()) {
+            throw new IllegalArgumentException("Erro: Nenhuma tarefa informada para importação.");
+        }
+
+        long failures = results.stream().filter(result -> !result.getSuccess()).count();
+        log.info("Importação concluída: {} tarefas criadas, {} com erro.", results.size() - failures, failures);
+
+        return results;
+    }
+
+    private List<TaskImportResult> importChunk(List<Task> chunk, int offset) {
+        TaskImportResult[] results = new TaskImportResult[chunk.size()];
+
+        for (int i = 0; i < chunk.size(); i++) {
+            Set<ConstraintViolation<Task>> violations = validator.validate(chunk.get(i));
+            if (!violations.isEmpty()) {
+                String message = violations.stream()
+                        .map(ConstraintViolation::getMessage)
+                        .sorted()
+                        .collect(Collectors.joining("; "));
+                results[i] = new TaskImportResult(offset + i, null, false, message);
+            } else if (chunk.get(i).getProjectId() == null) {
+                results[i] = new TaskImportResult(offset + i, null, false, "Erro: Informe o ID do projeto.");
+            }
+        }
+
+        /* Cada projeto distinto do lote é resolvido uma única vez */
+        Set<Long> projectIds = new HashSet<>();
+        for (int i = 0; i < chunk.size(); i++) {
+            if (results[i] == null) {
+                projectIds.add(chunk.get(i).getProjectId());
+            }
         }
-        if (task.getDescription() != null) {
-            existingTask.setDescription(task.getDescription());
+        Map<Long, Project> projects;
+        try {
+            projects = projectIds.isEmpty() ? Map.of() : projectService.findAllById(projectIds);
+        } catch (RuntimeException e) {
+            /* Lotes anteriores já foram gravados; este lote é reportado como falho para que o cliente reenvie só ele */
+            log.error("Erro ao buscar os projetos do lote iniciado na linha {}: {}", offset, e.getMessage());
+            return failPending(results, offset, "Erro: Não foi possível consultar os projetos, tente novamente.");
         }
-        if (task.getObservation() != null) {
-            existingTask.setObservation(task.getObservation());
+
+        List<Task> toSave = new ArrayList<>();
+        List<Integer> savedIndexes = new ArrayList<>();
+        for (int i = 0; i < chunk.size(); i++) {
+            if (results[i] != null) {
+                continue;
+            }
+
+            Task task = chunk.get(i);
+            Project project = projects.get(task.getProjectId());
+            if (project == null) {
+                results[i] = new TaskImportResult(offset + i, null, false,
+                        "Erro: Projeto com ID: " + task.getProjectId() + " não encontrado.");
+                continue;
+            }
+
+            task.setId(null);
+            task.setProjectName(project.getName());
+            toSave.add(task);
+            savedIndexes.add(i);
         }
-        if (task.getHourlyRate() != null) {
-            existingTask.setHourlyRate(task.getHourlyRate());
+
+        if (!toSave.isEmpty()) {
+            List<Task> saved;
+            try {
+                saved = saveChunk(toSave);
+            } catch (RuntimeException e) {
+                log.error("Erro ao gravar o lote iniciado na linha {}: {}", offset, e.getMessage());
+                return failPending(results, offset, "Erro: Não foi possível gravar a tarefa, tente novamente.");
+            }
+
+            for (int i = 0; i < saved.size(); i++) {
+                nameSearchIndex.put(saved.get(i).getId(), saved.get(i).getName());
+
+                int index = savedIndexes.get(i);
+                results[index] = new TaskImportResult(offset + index, saved.get(i).getId(), true, null);
+            }
         }
-        if (task.getBudget() != null) {
-            existingTask.setBudget(task.getBudget());
+
+        return List.of(results);
+    }
+
+    /* Linhas ainda sem resultado recebem o mesmo erro; as que falharam na validação mantêm a mensagem própria */
+    private static List<TaskImportResult> failPending(TaskImportResult[] results, int offset, String message) {
+        for (int i = 0; i < results.length; i++) {
+            if (results[i] == null) {
+                results[i] = new TaskImportResult(offset + i, null, false, message);
+            }
         }
-        if (task.getEstimatedHours() != null) {
-            existingTask.setEstimatedHours(task.getEstimatedHours());
+
+        return List.of(results);
+    }
+
+    /* Tarefas e eventos da outbox são gravados na mesma transação */
+    private List<Task> saveChunk(List<Task> toSave) {
+        return Objects.requireNonNull(transactionTemplate.execute(status -> {
+            List<Task> inserted = taskRepository.saveAll(toSave);
+
+            List<OutboxEvent> events = new ArrayList<>(inserted.size());
+            for (Task task : inserted) {
+                try {
+                    events.add(taskProducer.toCreatedEvent(task));
+                } catch (JsonProcessingException e) {
+                    throw new IllegalStateException("Erro: Falha ao serializar a tarefa " + task.getName(), e);
+                }
+            }
+            outboxEventRepository.saveAll(events);
+            projectRollupService.apply(inserted.stream()
+                    .collect(Collectors.toMap(Task::getProjectId, ProjectRollup::of, ProjectRollup::plus))
+                    .values());
+
+            entityManager.flush();
+            entityManager.clear();
+            return inserted;
+        }));
+    }
+
+    @Override
+    @Transactional(rollbackOn = Exception.class)
+    public Optional<Task> update(Long id, Task task) throws Exception {
+        log.info("Atualizando tarefa...");
+
+        boolean affectsRollup = task.getBudget() != null || task.getHourlyRate() != null
+                || task.getEstimatedHours() != null || task.getActive() != null;
+        List<ProjectRollup> before = affectsRollup ? projectRollupService.sumByTaskIds(List.of(id)) : List.of();
+
+        /* Um único UPDATE com as colunas informadas, sem carregar a tarefa antes */
+        if (taskRepository.updateNonNullFields(id, task) == 0) {
+            throw new Exception("Erro: Tarefa não encontrada, tente outro ID.");
         }
-        if (task.getActive() != null) {
-            existingTask.setActive(task.getActive());
+
+        if (affectsRollup) {
+            /* Tarefas sem projeto não trazem linhas; o valor antigo sai e o novo entra, mesmo se o projeto mudou */
+            List<ProjectRollup> deltas = new ArrayList<>(projectRollupService.sumByTaskIds(List.of(id)));
+            before.forEach(rollup -> deltas.add(rollup.negate()));
+            projectRollupService.apply(deltas);
         }
 
-        taskRepository.save(existingTask);
+        if (task.getName() != null) {
+            afterCommit(() -> nameSearchIndex.put(id, task.getName()));
+        }
+        Optional<Task> updatedTask = taskRepository.findById(id);
+        if (updatedTask.isPresent()) {
+            outboxEventRepository.save(taskProducer.toUpdatedEvent(updatedTask.get()));
+        }
         log.info("Tarefa atualizada com sucesso.");
 
-        return Optional.of(existingTask);
+        return updatedTask;
     }
 
     @Override
+    @Transactional(rollbackOn = Exception.class)
     public Optional<Task> delete(Long id) throws Exception {
         log.info("Excluindo tarefa...");
 
@@ -126,8 +348,103 @@ public class TaskServiceImpl implements TaskService {
         }
 
         taskRepository.deleteById(id);
+        outboxEventRepository.saveAll(taskProducer.toDeletedEvents(List.of(id)));
+        projectRollupService.apply(List.of(ProjectRollup.of(deletedTask.get()).negate()));
+        afterCommit(() -> nameSearchIndex.remove(id));
         log.info("Tarefa excluída com sucesso.");
 
         return deletedTask;
     }
+
+    @Override
+    public long deleteAll(Collection<Long> ids) throws Exception {
+        if (ids == null || ids.isEmpty()) {
+            throw new IllegalArgumentException("Erro: Informe os IDs das tarefas a excluir.");
+        }
+        log.info("Excluindo {} tarefas pelo ID...", ids.size());
+
+        List<Long> sortedIds = ids.stream().filter(Objects::nonNull).distinct().sorted().toList();
+        long deleted = 0;
+        for (int from = 0; from < sortedIds.size(); from += deleteChunkSize) {
+            List<Long> chunk = sortedIds.subList(from, Math.min(from + deleteChunkSize, sortedIds.size()));
+            deleted += deleteChunk(taskRepository.findExistingIds(chunk));
+        }
+
+        log.info("{} tarefas excluídas com sucesso.", deleted);
+        return deleted;
+    }
+
+    @Override
+    public long deleteByProjectId(Long projectId) throws Exception {
+        if (projectId == null) {
+            throw new IllegalArgumentException("Erro: Informe o ID do projeto.");
+        }
+        log.info("Excluindo tarefas do projeto com ID: {}...", projectId);
+
+        long deleted = deleteInChunks(cursor -> taskRepository.findIdsByProjectId(projectId, cursor, Limit.of(deleteChunkSize)));
+
+        log.info("{} tarefas excluídas com sucesso.", deleted);
+        return deleted;
+    }
+
+    @Override
+    public long deleteInactiveBefore(LocalDateTime before) throws Exception {
+        if (before == null) {
+            throw new IllegalArgumentException("Erro: Informe a data limite.");
+        }
+        log.info("Excluindo tarefas inativas desde antes de {}...", before);
+
+        long deleted = deleteInChunks(cursor -> taskRepository.findInactiveIdsBefore(before, cursor, Limit.of(deleteChunkSize)));
+
+        log.info("{} tarefas excluídas com sucesso.", deleted);
+        return deleted;
+    }
+
+    /* Um único UPDATE por projeto, sem carregar as tarefas; só altera as cópias com nome mais antigo que changedAt */
+    @Override
+    @Transactional
+    public int renameProject(Long projectId, String projectName, LocalDateTime changedAt) {
+        int renamed = taskRepository.renameProject(projectId, projectName, changedAt);
+        projectService.evict(projectId);
+
+        return renamed;
+    }
+
+    /* Percorre os IDs em ordem crescente, um lote por vez, a partir do último ID excluído */
+    private long deleteInChunks(LongFunction<List<Long>> idsAfter) {
+        long deleted = 0;
+        long cursor = 0L;
+        List<Long> ids;
+
+        do {
+            ids = idsAfter.apply(cursor);
+            if (ids.isEmpty()) {
+                break;
+            }
+
+            deleted += deleteChunk(ids);
+            cursor = ids.get(ids.size() - 1);
+        } while (ids.size() == deleteChunkSize);
+
+        return deleted;
+    }
+
+    /* Exclui o lote e grava os eventos de exclusão, um por partição da outbox, na mesma transação */
+    private int deleteChunk(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+
+        int deleted = Objects.requireNonNull(transactionTemplate.execute(status -> {
+            List<ProjectRollup> removed = projectRollupService.sumByTaskIds(ids);
+
+            int count = taskRepository.deleteAllByIdIn(ids);
+            outboxEventRepository.saveAll(taskProducer.toDeletedEvents(ids));
+            projectRollupService.apply(removed.stream().map(ProjectRollup::negate).toList());
+            return count;
+        }));
+        ids.forEach(nameSearchIndex::remove);
+
+        return deleted;
+    }
 }
@@ -1,8 +1,13 @@
 package com.infnet.taskservice;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.infnet.search.NameMatch;
+import com.infnet.taskservice.model.ProjectRollup;
 import com.infnet.taskservice.model.Task;
+import com.infnet.taskservice.model.TaskPage;
+import com.infnet.taskservice.repository.ProjectRollupRepository;
 import com.infnet.taskservice.repository.TaskRepository;
+import com.infnet.taskservice.service.ProjectRollupService;
 import com.infnet.taskservice.service.impl.TaskServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -26,9 +31,16 @@ class TaskServiceTest {
     @Autowired
     private TaskServiceImpl taskService;
 
+    @Autowired
+    private ProjectRollupRepository projectRollupRepository;
+
+    @Autowired
+    private ProjectRollupService projectRollupService;
+
     @BeforeEach
     public void setUp() {
         taskRepository.deleteAll();
+        projectRollupRepository.deleteAll();
     }
 
     @Test
@@ -50,6 +62,32 @@ class TaskServiceTest {
         assertEquals(savedTask.getId(), foundTask.get().getId());
     }
 
+    @Test
+    @DisplayName("Deve paginar as tarefas a partir do cursor")
+    void findAllPageTest() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            taskRepository.save(Task.builder()
+                    .name("Tarefa " + i)
+                    .description("Descrição tarefa")
+                    .hourlyRate(20.0f)
+                    .budget(2000.0f)
+                    .estimatedHours(100)
+                    .active(true)
+                    .build());
+        }
+
+        TaskPage firstPage = taskService.findAll(null, 2);
+
+        assertThat(firstPage.getContent().size()).isEqualTo(2);
+        assertThat(firstPage.getNextCursor()).isEqualTo(firstPage.getContent().get(1).getId());
+
+        TaskPage lastPage = taskService.findAll(firstPage.getNextCursor(), 2);
+
+        assertThat(lastPage.getContent().size()).isEqualTo(1);
+        assertThat(lastPage.getContent().get(0).getName()).isEqualTo("Tarefa 2");
+        assertThat(lastPage.getNextCursor()).isNull();
+    }
+
     @Test
     @DisplayName("Deve buscar uma tarefa pelo nome")
     void findByNameTest() throws Exception {
@@ -70,6 +108,27 @@ class TaskServiceTest {
         assertThat(foundTasks.get(0).getName()).isEqualTo("Tarefa Teste");
     }
 
+    @Test
+    @DisplayName("Deve pesquisar tarefas por prefixo e com erro de digitação")
+    void searchTest() throws Exception {
+        Task task = new Task();
+
+        task.setName("Implantação do sistema");
+        task.setDescription("Descrição tarefa");
+        task.setHourlyRate(20.0f);
+        task.setBudget(2000.0f);
+        task.setEstimatedHours(100);
+        task.setActive(true);
+
+        Task savedTask = taskService.create(task);
+
+        List<NameMatch> byPrefix = taskService.search("impla", 5);
+        List<NameMatch> withTypo = taskService.search("implantasao", 5);
+
+        assertThat(byPrefix.get(0).getId()).isEqualTo(savedTask.getId());
+        assertThat(withTypo.get(0).getId()).isEqualTo(savedTask.getId());
+    }
+
     @Test
     @DisplayName("Deve salvar uma tarefa com sucesso")
     void createTest() throws JsonProcessingException {
@@ -119,6 +178,33 @@ class TaskServiceTest {
         assertThat(updatedTask.getBudget()).isEqualTo(2500.0f);
     }
 
+    @Test
+    @DisplayName("Deve manter os totais do projeto ao criar, atualizar e excluir tarefas")
+    void projectRollupTest() throws Exception {
+        Task task = Task.builder()
+                .name("Tarefa Totais")
+                .description("Testando totais")
+                .projectId(900L)
+                .hourlyRate(10.0f)
+                .budget(1000.0f)
+                .estimatedHours(10)
+                .active(true)
+                .build();
+
+        Task savedTask = taskService.create(task);
+        taskService.update(savedTask.getId(), Task.builder().budget(2500.0f).active(false).build());
+
+        ProjectRollup rollup = projectRollupService.findByProjectId(900L);
+        assertThat(rollup.getTotalBudget()).isEqualTo(2500.0);
+        assertThat(rollup.getTotalCost()).isEqualTo(100.0);
+        assertThat(rollup.getActiveTasks()).isEqualTo(0L);
+        assertThat(rollup.getInactiveTasks()).isEqualTo(1L);
+
+        taskService.delete(savedTask.getId());
+
+        assertThat(projectRollupService.findByProjectId(900L).getInactiveTasks()).isEqualTo(0L);
+    }
+
     @Test
     @DisplayName("Deve deletar uma tarefa com sucesso")
     void deleteTest() {
@@ -0,0 +1,93 @@
+package com.infnet.taskservice.service.feign;
+
+import com.infnet.taskservice.model.Project;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ProjectBatchLoaderTest {
+    private final List<List<Long>> calls = new CopyOnWriteArrayList<>();
+    private ProjectBatchLoader loader;
+
+    @AfterEach
+    void tearDown() {
+        loader.shutdown();
+    }
+
+    @Test
+    @DisplayName("Deve agrupar as buscas feitas na mesma janela em uma única chamada")
+    void windowTest() throws Exception {
+        loader = new ProjectBatchLoader(client(false), Duration.ofMillis(100), 200, 1, 4);
+
+        CompletableFuture<Optional<Project>> first = loader.load(1L);
+        CompletableFuture<Optional<Project>> second = loader.load(2L);
+        CompletableFuture<Optional<Project>> repeated = loader.load(1L);
+
+        assertThat(first.get(1, TimeUnit.SECONDS)).map(Project::getName).contains("Projeto 1");
+        assertThat(second.get(1, TimeUnit.SECONDS)).map(Project::getName).contains("Projeto 2");
+        assertThat(repeated).isSameAs(first);
+        assertThat(calls).hasSize(1);
+        assertThat(calls.get(0)).containsExactlyInAnyOrder(1L, 2L);
+    }
+
+    @Test
+    @DisplayName("Deve buscar antes do fim da janela quando o lote atinge o tamanho máximo")
+    void maxSizeTest() throws Exception {
+        loader = new ProjectBatchLoader(client(false), Duration.ofMinutes(1), 2, 1, 4);
+
+        CompletableFuture<Optional<Project>> first = loader.load(1L);
+        CompletableFuture<Optional<Project>> second = loader.load(2L);
+
+        assertThat(first.get(1, TimeUnit.SECONDS)).isPresent();
+        assertThat(second.get(1, TimeUnit.SECONDS)).isPresent();
+        assertThat(calls).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Deve propagar a falha da chamada para todas as buscas do lote")
+    void failureTest() {
+        loader = new ProjectBatchLoader(client(true), Duration.ofMillis(10), 200, 1, 4);
+
+        CompletableFuture<Optional<Project>> first = loader.load(1L);
+        CompletableFuture<Optional<Project>> second = loader.load(2L);
+
+        assertThatThrownBy(() -> first.get(1, TimeUnit.SECONDS)).isInstanceOf(ExecutionException.class)
+                .hasRootCauseMessage("serviço indisponível");
+        assertThatThrownBy(() -> second.get(1, TimeUnit.SECONDS)).isInstanceOf(ExecutionException.class)
+                .hasRootCauseMessage("serviço indisponível");
+    }
+
+    private ProjectClient client(boolean failing) {
+        return new ProjectClient() {
+            @Override
+            public Project findById(Long id) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public List<Project> findAllById(Collection<Long> ids) {
+                calls.add(List.copyOf(ids));
+                if (failing) {
+                    throw new IllegalStateException("serviço indisponível");
+                }
+
+                List<Project> projects = new ArrayList<>();
+                ids.forEach(id -> projects.add(Project.builder().id(id).name("Projeto " + id).build()));
+                return projects;
+            }
+        };
+    }
+}